@@ -6,8 +6,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.client.FanOutScope;
 import ru.practicum.client.event.EventClient;
-import ru.practicum.client.user.UserClient;
+import ru.practicum.client.user.UserOperation;
 import ru.practicum.dto.comment.CommentAdminDto;
 import ru.practicum.dto.comment.CommentDto;
 import ru.practicum.dto.comment.NewCommentDto;
@@ -26,6 +27,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,14 +37,23 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final EventClient eventClient;
-    private final UserClient userClient;
+    private final UserOperation userClient;
     private final CommentMapper commentMapper;
 
     @Override
     @Transactional
     public CommentDto createComment(Long userId, Long eventId, NewCommentDto newCommentDto) {
-        getUserOrThrow(userId);
-        EventFullDto event = getEventOrThrow(eventId);
+        EventFullDto event;
+        try (FanOutScope scope = new FanOutScope()) {
+            Supplier<Void> userCall = scope.fork(() -> {
+                getUserOrThrow(userId);
+                return null;
+            });
+            Supplier<EventFullDto> eventCall = scope.fork(() -> getEventOrThrow(eventId));
+            scope.join();
+            userCall.get();
+            event = eventCall.get();
+        }
 
         if (event.getState() != EventState.PUBLISHED) {
             throw new ConflictException("Нельзя комментировать неопубликованное событие");
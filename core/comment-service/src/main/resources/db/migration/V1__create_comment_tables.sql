@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS comments CASCADE;
-
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     text VARCHAR(2000) NOT NULL,
@@ -9,7 +7,3 @@ CREATE TABLE IF NOT EXISTS comments (
     event_id BIGINT NOT NULL,
     status VARCHAR(20) NOT NULL
 );
-
-
-
-
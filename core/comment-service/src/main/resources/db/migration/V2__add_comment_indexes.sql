@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_comments_event_id_status_created_on ON comments (event_id, status, created_on DESC);
+CREATE INDEX IF NOT EXISTS idx_comments_author_id_created_on ON comments (author_id, created_on DESC);
+CREATE INDEX IF NOT EXISTS idx_comments_created_on ON comments (created_on DESC);
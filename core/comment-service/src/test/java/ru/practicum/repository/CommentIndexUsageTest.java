@@ -0,0 +1,72 @@
+package ru.practicum.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class CommentIndexUsageTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = POSTGRES.createConnection("");
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO comments (text, created_on, author_id, event_id, status)
+                    SELECT 'comment ' || i, TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute', i % 2000, i % 5000,
+                           (ARRAY['PENDING', 'CONFIRMED', 'REJECTED'])[i % 3 + 1]
+                    FROM generate_series(1, 100000) AS i
+                    """);
+            statement.execute("ANALYZE comments");
+        }
+    }
+
+    @Test
+    void publishedByEventUsesEventStatusCreatedOnIndex() throws SQLException {
+        String plan = explain("""
+                SELECT c.id FROM comments c
+                WHERE c.event_id = 42 AND c.status = 'CONFIRMED'
+                ORDER BY c.created_on DESC
+                LIMIT 10
+                """);
+
+        assertIndexScan(plan, "comments");
+        assertThat(plan).contains("idx_comments_event_id_status_created_on");
+    }
+
+    private static void assertIndexScan(String plan, String table) {
+        assertThat(plan)
+                .containsAnyOf("Index Scan", "Index Only Scan", "Bitmap Index Scan")
+                .doesNotContain("Seq Scan on " + table);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Connection connection = POSTGRES.createConnection("");
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            StringJoiner lines = new StringJoiner("\n");
+            while (plan.next()) {
+                lines.add(plan.getString(1));
+            }
+            return lines.toString();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.practicum.EndpointHitDto;
+import ru.practicum.ViewStatsDto;
+
+import java.util.List;
+
+@Primary
+@Component
+@Slf4j
+public class CoalescingStatsClient implements StatsClient {
+
+    private final StatsClientImpl statsClient;
+    private final SingleFlight<StatsQuery, List<ViewStatsDto>> statsFlight = new SingleFlight<>("stats-client.stats");
+
+    public CoalescingStatsClient(StatsClientImpl statsClient, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.statsClient = statsClient;
+        meterRegistry.ifAvailable(statsFlight::bindTo);
+    }
+
+    @Override
+    public void saveHit(EndpointHitDto endpointHitDto) {
+        statsClient.saveHit(endpointHitDto);
+    }
+
+    @Override
+    public void saveHits(List<EndpointHitDto> endpointHitDtos) {
+        statsClient.saveHits(endpointHitDtos);
+    }
+
+    @Override
+    public List<ViewStatsDto> getStats(String start, String end, List<String> uris, Boolean unique) {
+        try {
+            return fetchStats(start, end, uris, unique);
+        } catch (Exception e) {
+            log.error("Не удалось получить статистику. Исключение: {}, сообщение: {}",
+                    e.getClass().getName(), e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<ViewStatsDto> fetchStats(String start, String end, List<String> uris, Boolean unique) {
+        List<String> sortedUris = uris == null ? null : uris.stream()
+                .distinct()
+                .sorted()
+                .toList();
+        return statsFlight.execute(new StatsQuery(start, end, sortedUris, unique),
+                () -> statsClient.fetchStats(start, end, sortedUris, unique));
+    }
+
+    private record StatsQuery(String start, String end, List<String> uris, Boolean unique) {
+    }
+}
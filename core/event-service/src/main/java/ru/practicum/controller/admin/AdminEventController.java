@@ -5,15 +5,18 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.dto.event.EventFullDto;
 import ru.practicum.dto.event.UpdateEventAdminRequestDto;
 import ru.practicum.model.EventState;
+import ru.practicum.service.EventPage;
 import ru.practicum.service.EventService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin/events")
@@ -24,16 +27,23 @@ public class AdminEventController {
     private final EventService eventService;
 
     @GetMapping
-    public List<EventFullDto> search(@RequestParam(required = false) List<Long> users,
-                                     @RequestParam(required = false) List<EventState> states,
-                                     @RequestParam(required = false) List<Long> categories,
-                                     @RequestParam(required = false)
-                                         @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
-                                     @RequestParam(required = false)
-                                         @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
-                                     @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                     @RequestParam(defaultValue = "10") @Positive int size) {
-        return eventService.searchAdmin(users, states, categories, rangeStart, rangeEnd, from, size);
+    public ResponseEntity<List<EventFullDto>> search(@RequestParam(required = false) List<Long> users,
+                                                     @RequestParam(required = false) List<EventState> states,
+                                                     @RequestParam(required = false) List<Long> categories,
+                                                     @RequestParam(required = false)
+                                                         @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
+                                                     @RequestParam(required = false)
+                                                         @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                     @RequestParam(defaultValue = "10") @Positive int size) {
+        EventPage<EventFullDto> page = eventService.searchAdmin(users, states, categories, rangeStart, rangeEnd,
+                cursor, from, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(EventPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.events());
     }
 
     @GetMapping("/{eventId}")
@@ -41,6 +51,11 @@ public class AdminEventController {
         return eventService.getEventById(eventId);
     }
 
+    @PutMapping("/confirmed-requests")
+    public void updateConfirmedRequests(@RequestBody Map<Long, Long> confirmedRequests) {
+        eventService.updateConfirmedRequests(confirmedRequests);
+    }
+
     @PatchMapping("/{eventId}")
     public EventFullDto update(@PathVariable Long eventId,
                                @Valid @RequestBody UpdateEventAdminRequestDto dto) {
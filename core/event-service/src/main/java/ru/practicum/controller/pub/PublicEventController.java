@@ -5,10 +5,12 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.dto.event.EventFullDto;
 import ru.practicum.dto.event.EventShortDto;
+import ru.practicum.service.EventPage;
 import ru.practicum.service.EventService;
 
 import java.time.LocalDateTime;
@@ -23,19 +25,26 @@ public class PublicEventController {
     private final EventService eventService;
 
     @GetMapping
-    public List<EventShortDto> search(@RequestParam(required = false) String text,
-                                      @RequestParam(required = false) List<Long> categories,
-                                      @RequestParam(required = false) Boolean paid,
-                                      @RequestParam(required = false)
-                                          @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
-                                      @RequestParam(required = false)
-                                          @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
-                                      @RequestParam(defaultValue = "false") Boolean onlyAvailable,
-                                      @RequestParam(required = false) String sort,
-                                      @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                      @RequestParam(defaultValue = "10") @Positive int size,
-                                      HttpServletRequest request) {
-        return eventService.searchPublic(text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size, request);
+    public ResponseEntity<List<EventShortDto>> search(@RequestParam(required = false) String text,
+                                                      @RequestParam(required = false) List<Long> categories,
+                                                      @RequestParam(required = false) Boolean paid,
+                                                      @RequestParam(required = false)
+                                                          @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
+                                                      @RequestParam(required = false)
+                                                          @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
+                                                      @RequestParam(defaultValue = "false") Boolean onlyAvailable,
+                                                      @RequestParam(required = false) String sort,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                      @RequestParam(defaultValue = "10") @Positive int size,
+                                                      HttpServletRequest request) {
+        EventPage<EventShortDto> page = eventService.searchPublic(text, categories, paid, rangeStart, rangeEnd,
+                onlyAvailable, sort, cursor, from, size, request);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(EventPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.events());
     }
 
     @GetMapping("/{eventId}")
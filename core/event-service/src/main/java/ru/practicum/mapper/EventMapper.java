@@ -5,6 +5,7 @@ import ru.practicum.dto.event.*;
 import ru.practicum.model.Category;
 import ru.practicum.model.Event;
 import ru.practicum.model.Location;
+import ru.practicum.repository.EventShortView;
 
 import java.time.LocalDateTime;
 
@@ -12,13 +13,16 @@ import java.time.LocalDateTime;
 public interface EventMapper {
 
     @Mapping(target = "initiator", ignore = true)
-    @Mapping(target = "confirmedRequests", ignore = true)
     EventFullDto toFullDto(Event event);
 
     @Mapping(target = "initiator", ignore = true)
-    @Mapping(target = "confirmedRequests", ignore = true)
     EventShortDto toShortDto(Event event);
 
+    @Mapping(target = "category.id", source = "categoryId")
+    @Mapping(target = "category.name", source = "categoryName")
+    @Mapping(target = "initiator", ignore = true)
+    EventShortDto toShortDto(EventShortView event);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "confirmedRequests", constant = "0")
     @Mapping(target = "state", expression = "java(ru.practicum.model.EventState.PENDING)")
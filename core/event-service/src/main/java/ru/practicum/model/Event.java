@@ -3,11 +3,13 @@ package ru.practicum.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "events")
+@DynamicUpdate
 @Getter
 @Setter
 @EqualsAndHashCode(of = {"id", "title", "eventDate"})
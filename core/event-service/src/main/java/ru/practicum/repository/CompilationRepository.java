@@ -1,6 +1,5 @@
 package ru.practicum.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,14 +7,22 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.model.Compilation;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
 
+    @Query("SELECT c.id FROM Compilation c WHERE :pinned IS NULL OR c.pinned = :pinned ORDER BY c.id")
+    List<Long> findPageIds(@Param("pinned") Boolean pinned, Pageable pageable);
+
     @EntityGraph(attributePaths = {"events", "events.category"})
-    Page<Compilation> findByPinned(Boolean pinned, Pageable pageable);
+    @Query("SELECT c FROM Compilation c WHERE c.id IN :ids ORDER BY c.id")
+    List<Compilation> findAllWithEventsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Override
     @EntityGraph(attributePaths = {"events", "events.category"})
-    Page<Compilation> findAll(Pageable pageable);
+    @Query("SELECT c FROM Compilation c WHERE c.id = :id")
+    Optional<Compilation> findWithEventsById(@Param("id") Long id);
 
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END " +
             "FROM Compilation c WHERE LOWER(TRIM(c.title)) = LOWER(TRIM(:title))")
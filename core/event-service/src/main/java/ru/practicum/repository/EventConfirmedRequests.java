@@ -0,0 +1,8 @@
+package ru.practicum.repository;
+
+public interface EventConfirmedRequests {
+
+    Long getEventId();
+
+    Integer getConfirmedRequests();
+}
@@ -0,0 +1,41 @@
+package ru.practicum.repository;
+
+import ru.practicum.model.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record EventCursor(LocalDateTime eventDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getEventDate(), event.getId());
+    }
+
+    public static EventCursor of(EventShortView event) {
+        return new EventCursor(event.eventDate(), event.id());
+    }
+
+    public static EventCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+            if (parts.length == 2) {
+                return new EventCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            }
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Некорректный курсор пагинации: " + cursor, e);
+        }
+        throw new IllegalArgumentException("Некорректный курсор пагинации: " + cursor);
+    }
+
+    public String encode() {
+        String value = eventDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,17 +1,32 @@
 package ru.practicum.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.model.Event;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
 
+    @EntityGraph(attributePaths = "category")
+    List<Event> findAllByIdIn(Collection<Long> ids);
+
     List<Event> findAllByInitiatorId(Long userId, Pageable pageable);
 
     Optional<Event> findByIdAndInitiatorId(Long eventId, Long userId);
 
     boolean existsByCategoryId(Long categoryId);
+
+    @Query("SELECT e.id AS eventId, e.confirmedRequests AS confirmedRequests FROM Event e WHERE e.id IN :ids")
+    List<EventConfirmedRequests> findConfirmedRequests(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = :confirmedRequests WHERE e.id = :eventId")
+    int updateConfirmedRequests(@Param("eventId") Long eventId, @Param("confirmedRequests") int confirmedRequests);
 }
@@ -5,6 +5,7 @@ import ru.practicum.model.EventState;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface EventRepositoryCustom {
 
@@ -13,16 +14,20 @@ public interface EventRepositoryCustom {
                                          List<Long> categories,
                                          LocalDateTime rangeStart,
                                          LocalDateTime rangeEnd,
+                                         EventCursor after,
                                          int from,
                                          int size);
 
-    List<Event> findPublishedEvents(String text,
-                                    List<Long> categories,
-                                    Boolean paid,
-                                    LocalDateTime rangeStart,
-                                    LocalDateTime rangeEnd,
-                                    Boolean onlyAvailable,
-                                    String sort,
-                                    int from,
-                                    int size);
+    List<EventShortView> findPublishedEvents(String text,
+                                             List<Long> categories,
+                                             Boolean paid,
+                                             LocalDateTime rangeStart,
+                                             LocalDateTime rangeEnd,
+                                             Boolean onlyAvailable,
+                                             String sort,
+                                             EventCursor after,
+                                             int from,
+                                             int size);
+
+    int incrementViews(Map<Long, Long> deltas);
 }
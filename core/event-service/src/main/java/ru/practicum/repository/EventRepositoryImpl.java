@@ -1,11 +1,15 @@
 package ru.practicum.repository;
 
 import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.model.Event;
 import ru.practicum.model.QCategory;
 import ru.practicum.model.QEvent;
@@ -13,11 +17,16 @@ import ru.practicum.model.EventState;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 
 @Repository
 @RequiredArgsConstructor
 public class EventRepositoryImpl implements EventRepositoryCustom {
 
+    private static final String SORT_VIEWS = "VIEWS";
+    private static final String SORT_RELEVANCE = "RELEVANCE";
+
     private final EntityManager entityManager;
 
     @Override
@@ -26,6 +35,7 @@ public class EventRepositoryImpl implements EventRepositoryCustom {
                                                 List<Long> categories,
                                                 LocalDateTime rangeStart,
                                                 LocalDateTime rangeEnd,
+                                                EventCursor after,
                                                 int from,
                                                 int size) {
         QEvent e = QEvent.event;
@@ -39,33 +49,45 @@ public class EventRepositoryImpl implements EventRepositoryCustom {
         BooleanExpression afterStart = (rangeStart == null) ? null : e.eventDate.goe(rangeStart);
         BooleanExpression beforeEnd = (rangeEnd == null) ? null : e.eventDate.loe(rangeEnd);
 
+        BooleanExpression seek = after == null ? null : e.eventDate.loe(after.eventDate())
+                .and(e.eventDate.lt(after.eventDate()).or(e.id.lt(after.id())));
+
         return queryFactory.selectFrom(e)
                 .leftJoin(e.category, c).fetchJoin()
-                .where(byUsers, byStates, byCategories, afterStart, beforeEnd)
-                .orderBy(e.eventDate.desc())
-                .offset(from)
+                .where(byUsers, byStates, byCategories, afterStart, beforeEnd, seek)
+                .orderBy(e.eventDate.desc(), e.id.desc())
+                .offset(after == null ? from : 0)
                 .limit(size)
                 .fetch();
     }
 
     @Override
-    public List<Event> findPublishedEvents(String text,
-                                           List<Long> categories,
-                                           Boolean paid,
-                                           LocalDateTime rangeStart,
-                                           LocalDateTime rangeEnd,
-                                           Boolean onlyAvailable,
-                                           String sort,
-                                           int from,
-                                           int size) {
+    public List<EventShortView> findPublishedEvents(String text,
+                                                    List<Long> categories,
+                                                    Boolean paid,
+                                                    LocalDateTime rangeStart,
+                                                    LocalDateTime rangeEnd,
+                                                    Boolean onlyAvailable,
+                                                    String sort,
+                                                    EventCursor after,
+                                                    int from,
+                                                    int size) {
         QEvent e = QEvent.event;
         QCategory c = QCategory.category;
 
         JPAQueryFactory queryFactory = new JPAQueryFactory(entityManager);
 
+        boolean hasText = text != null && !text.isBlank();
+        boolean byRelevance = hasText && SORT_RELEVANCE.equals(sort);
+
         BooleanExpression statePub = e.state.eq(EventState.PUBLISHED);
-        BooleanExpression byText = (text == null || text.isBlank()) ? null : e.annotation.containsIgnoreCase(text)
-                .or(e.description.containsIgnoreCase(text));
+        BooleanExpression byText = null;
+        if (byRelevance) {
+            byText = Expressions.booleanTemplate("function('" + EventSearchFunctionContributor.TEXT_MATCH
+                    + "', {0}, {1}, {2}) = true", e.annotation, e.description, text);
+        } else if (hasText) {
+            byText = e.annotation.containsIgnoreCase(text).or(e.description.containsIgnoreCase(text));
+        }
         BooleanExpression byCategories = (categories == null || categories.isEmpty()) ? null : e.category.id.in(categories);
         BooleanExpression byPaid = paid == null ? null : e.paid.eq(paid);
         BooleanExpression afterStart = (rangeStart == null) ? e.eventDate.goe(LocalDateTime.now()) : e.eventDate.goe(rangeStart);
@@ -74,15 +96,57 @@ public class EventRepositoryImpl implements EventRepositoryCustom {
         if (Boolean.TRUE.equals(onlyAvailable)) {
             available = e.participantLimit.eq(0).or(e.confirmedRequests.lt(e.participantLimit));
         }
-        OrderSpecifier<?> order = "VIEWS".equals(sort) ? e.views.desc() : e.eventDate.asc();
+        BooleanExpression seek = null;
+        OrderSpecifier<?>[] order;
+        if (after != null && (byRelevance || SORT_VIEWS.equals(sort))) {
+            throw new IllegalArgumentException("Курсорная пагинация недоступна для сортировки " + sort);
+        }
+        if (byRelevance) {
+            order = new OrderSpecifier<?>[]{
+                    Expressions.numberTemplate(Double.class, "function('" + EventSearchFunctionContributor.TEXT_RANK
+                            + "', {0}, {1}, {2})", e.annotation, e.description, text).desc(),
+                    e.eventDate.asc(),
+                    e.id.asc()
+            };
+        } else if (SORT_VIEWS.equals(sort)) {
+            order = new OrderSpecifier<?>[]{e.views.desc(), e.id.asc()};
+        } else {
+            if (after != null) {
+                seek = e.eventDate.goe(after.eventDate())
+                        .and(e.eventDate.gt(after.eventDate()).or(e.id.gt(after.id())));
+            }
+            order = new OrderSpecifier<?>[]{e.eventDate.asc(), e.id.asc()};
+        }
 
-        return queryFactory.selectFrom(e)
-                .leftJoin(e.category, c).fetchJoin()
-                .where(statePub, byText, byCategories, byPaid, afterStart, beforeEnd, available)
+        return queryFactory.select(Projections.constructor(EventShortView.class,
+                        e.id, e.title, e.annotation, c.id, c.name, e.eventDate, e.initiatorId, e.paid,
+                        e.confirmedRequests, e.views))
+                .from(e)
+                .join(e.category, c)
+                .where(statePub, byText, byCategories, byPaid, afterStart, beforeEnd, available, seek)
                 .orderBy(order)
-                .offset(from)
+                .offset(after == null ? from : 0)
                 .limit(size)
                 .fetch();
     }
-}
 
+    @Override
+    @Transactional
+    public int incrementViews(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        List<Long> eventIds = deltas.keySet().stream().sorted().toList();
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < eventIds.size(); i++) {
+            values.add("(CAST(:id" + i + " AS BIGINT), CAST(:delta" + i + " AS BIGINT))");
+        }
+        Query query = entityManager.createNativeQuery("UPDATE events e SET views = e.views + v.delta "
+                + "FROM (VALUES " + values + ") AS v(id, delta) WHERE e.id = v.id");
+        for (int i = 0; i < eventIds.size(); i++) {
+            query.setParameter("id" + i, eventIds.get(i));
+            query.setParameter("delta" + i, deltas.get(eventIds.get(i)));
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+public class EventSearchFunctionContributor implements FunctionContributor {
+
+    public static final String TEXT_MATCH = "event_text_match";
+    public static final String TEXT_RANK = "event_text_rank";
+
+    private static final String QUERY = "websearch_to_tsquery('russian', ?3)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().registerPattern(TEXT_MATCH,
+                "(event_search_vector(?1, ?2) @@ " + QUERY + ")",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern(TEXT_RANK,
+                "ts_rank(event_search_vector(?1, ?2), " + QUERY + ")",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
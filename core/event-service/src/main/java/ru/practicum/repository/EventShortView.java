@@ -0,0 +1,15 @@
+package ru.practicum.repository;
+
+import java.time.LocalDateTime;
+
+public record EventShortView(Long id,
+                             String title,
+                             String annotation,
+                             Long categoryId,
+                             String categoryName,
+                             LocalDateTime eventDate,
+                             Long initiatorId,
+                             Boolean paid,
+                             Integer confirmedRequests,
+                             Long views) {
+}
@@ -27,6 +27,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final EventRepository eventRepository;
+    private final CompilationReadModel compilationReadModel;
 
     @Override
     @Transactional
@@ -66,6 +67,7 @@ public class CategoryServiceImpl implements CategoryService {
         if (newCategoryDto.getName() != null && !newCategoryDto.getName().isBlank()) {
             category.setName(newCategoryDto.getName());
         }
+        compilationReadModel.evictAll();
         return categoryMapper.toDto(categoryRepository.save(category));
     }
 
@@ -0,0 +1,269 @@
+package ru.practicum.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.ViewStatsDto;
+import ru.practicum.client.StatsClient;
+import ru.practicum.dto.compilation.CompilationDto;
+import ru.practicum.dto.event.EventShortDto;
+import ru.practicum.mapper.CompilationMapper;
+import ru.practicum.model.Compilation;
+import ru.practicum.repository.CompilationRepository;
+import ru.practicum.repository.EventConfirmedRequests;
+import ru.practicum.repository.EventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class CompilationReadModel {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String EVENT_URI_PREFIX = "/events/";
+
+    private final CompilationRepository compilationRepository;
+    private final CompilationMapper compilationMapper;
+    private final StatsClient statsClient;
+    private final EventRepository eventRepository;
+    private final Cache<Long, CompilationDto> compilations;
+    private final Cache<PageKey, List<Long>> pages;
+    private final int statsChunkSize;
+
+    public CompilationReadModel(CompilationRepository compilationRepository,
+                                CompilationMapper compilationMapper,
+                                StatsClient statsClient,
+                                EventRepository eventRepository,
+                                ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${compilations.cache.ttl:10m}") Duration ttl,
+                                @Value("${compilations.cache.maximum-size:1000}") long maximumSize,
+                                @Value("${compilations.cache.stats-chunk-size:100}") int statsChunkSize) {
+        this.compilationRepository = compilationRepository;
+        this.compilationMapper = compilationMapper;
+        this.statsClient = statsClient;
+        this.eventRepository = eventRepository;
+        this.statsChunkSize = statsChunkSize;
+        this.compilations = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, compilations, "compilations");
+            CaffeineCacheMetrics.monitor(registry, pages, "compilations.pages");
+        });
+    }
+
+    public List<CompilationDto> getPage(Boolean pinned, int from, int size) {
+        List<Long> ids = pages.get(new PageKey(pinned, from, size),
+                key -> compilationRepository.findPageIds(pinned, key.pageable()));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CompilationDto> loaded = compilations.getAll(ids, this::loadCompilations);
+        return ids.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public Optional<CompilationDto> get(Long compId) {
+        return Optional.ofNullable(compilations.get(compId, id -> compilationRepository.findWithEventsById(id)
+                .map(compilation -> build(List.of(compilation)).get(id))
+                .orElse(null)));
+    }
+
+    public CompilationDto toDto(Compilation compilation) {
+        return build(List.of(compilation)).get(compilation.getId());
+    }
+
+    public void evictCompilation(Long compId) {
+        afterCommit(() -> {
+            compilations.invalidate(compId);
+            pages.invalidateAll();
+        });
+    }
+
+    public void evictByEvent(Long eventId) {
+        afterCommit(() -> compilations.asMap().values().removeIf(dto -> containsEvent(dto, eventId)));
+    }
+
+    public void evictAll() {
+        afterCommit(() -> {
+            compilations.invalidateAll();
+            pages.invalidateAll();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${compilations.cache.refresh-interval-ms:30000}")
+    public void refreshCounts() {
+        Map<Long, CompilationDto> snapshot = Map.copyOf(compilations.asMap());
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        EventCounts counts = loadCounts(snapshot.values().stream()
+                .flatMap(dto -> events(dto).stream())
+                .map(EventShortDto::getId)
+                .collect(Collectors.toSet()));
+        snapshot.forEach((compId, dto) -> compilations.asMap().replace(compId, dto, withCounts(dto, counts)));
+        log.debug("Обновлены просмотры и подтверждённые заявки для {} подборок", snapshot.size());
+    }
+
+    private Map<Long, CompilationDto> loadCompilations(Set<? extends Long> compIds) {
+        return build(compilationRepository.findAllWithEventsByIdIn(List.copyOf(compIds)));
+    }
+
+    private Map<Long, CompilationDto> build(List<Compilation> source) {
+        List<CompilationDto> dtos = source.stream()
+                .map(compilationMapper::toDto)
+                .toList();
+        EventCounts counts = loadCounts(dtos.stream()
+                .flatMap(dto -> events(dto).stream())
+                .map(EventShortDto::getId)
+                .collect(Collectors.toSet()));
+        Map<Long, CompilationDto> result = new HashMap<>();
+        dtos.forEach(dto -> result.put(dto.getId(), withCounts(dto, counts)));
+        return result;
+    }
+
+    private CompilationDto withCounts(CompilationDto dto, EventCounts counts) {
+        Set<EventShortDto> events = new LinkedHashSet<>();
+        for (EventShortDto event : events(dto)) {
+            events.add(EventShortDto.builder()
+                    .id(event.getId())
+                    .annotation(event.getAnnotation())
+                    .category(event.getCategory())
+                    .eventDate(event.getEventDate())
+                    .initiator(event.getInitiator())
+                    .paid(event.getPaid())
+                    .title(event.getTitle())
+                    .views(counts.views().getOrDefault(event.getId(), previousViews(event)))
+                    .confirmedRequests(counts.confirmed().getOrDefault(event.getId(), 0L))
+                    .build());
+        }
+        return CompilationDto.builder()
+                .id(dto.getId())
+                .pinned(dto.getPinned())
+                .title(dto.getTitle())
+                .events(events)
+                .build();
+    }
+
+    private EventCounts loadCounts(Set<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return new EventCounts(Map.of(), Map.of());
+        }
+        return new EventCounts(getViewsFromStats(List.copyOf(eventIds)), getConfirmedRequests(eventIds));
+    }
+
+    private Map<Long, Long> getConfirmedRequests(Set<Long> eventIds) {
+        Map<Long, Long> confirmed = new HashMap<>();
+        for (EventConfirmedRequests event : eventRepository.findConfirmedRequests(eventIds)) {
+            confirmed.put(event.getEventId(), event.getConfirmedRequests().longValue());
+        }
+        return confirmed;
+    }
+
+    private Map<Long, Long> getViewsFromStats(List<Long> eventIds) {
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime start = end.minusYears(1);
+        Map<Long, Long> viewsMap = new HashMap<>();
+        for (int from = 0; from < eventIds.size(); from += statsChunkSize) {
+            List<Long> chunk = eventIds.subList(from, Math.min(from + statsChunkSize, eventIds.size()));
+            List<String> uris = chunk.stream()
+                    .map(eventId -> EVENT_URI_PREFIX + eventId)
+                    .toList();
+            try {
+                List<ViewStatsDto> stats = statsClient.fetchStats(
+                        start.format(FORMATTER),
+                        end.format(FORMATTER),
+                        uris,
+                        false
+                );
+                chunk.forEach(eventId -> viewsMap.put(eventId, 0L));
+                for (ViewStatsDto stat : stats) {
+                    Long eventId = parseEventId(stat.getUri());
+                    if (eventId != null) {
+                        viewsMap.put(eventId, stat.getHits());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Ошибка при получении данных из сервиса статистики для {} событий, оставлены прежние просмотры: {}",
+                        chunk.size(), e.getMessage());
+            }
+        }
+        return viewsMap;
+    }
+
+    private static Long parseEventId(String uri) {
+        if (uri == null || !uri.startsWith(EVENT_URI_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(uri.substring(EVENT_URI_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Long previousViews(EventShortDto event) {
+        return event.getViews() != null ? event.getViews() : 0L;
+    }
+
+    private static Collection<EventShortDto> events(CompilationDto dto) {
+        return dto.getEvents() != null ? dto.getEvents() : Set.of();
+    }
+
+    private static boolean containsEvent(CompilationDto dto, Long eventId) {
+        return events(dto).stream().anyMatch(event -> eventId.equals(event.getId()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record PageKey(Boolean pinned, int from, int size) {
+
+        Pageable pageable() {
+            return PageRequest.of(from / size, size);
+        }
+    }
+
+    private record EventCounts(Map<Long, Long> views, Map<Long, Long> confirmed) {
+    }
+}
@@ -2,34 +2,22 @@ package ru.practicum.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.ViewStatsDto;
-import ru.practicum.client.StatsClient;
 import ru.practicum.dto.compilation.CompilationDto;
 import ru.practicum.dto.compilation.NewCompilationDto;
 import ru.practicum.dto.compilation.UpdateCompilationRequestDto;
-import ru.practicum.dto.event.EventShortDto;
 import ru.practicum.exception.AlreadyExistsException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.mapper.CompilationMapper;
 import ru.practicum.model.Compilation;
 import ru.practicum.model.Event;
-import ru.practicum.model.RequestStatus;
 import ru.practicum.repository.CompilationRepository;
 import ru.practicum.repository.EventRepository;
-import ru.practicum.client.request.RequestClient;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -40,83 +28,29 @@ public class CompilationServiceImpl implements CompilationService {
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
     private final CompilationMapper compilationMapper;
-    private final StatsClient statsClient;
-    private final RequestClient requestClient;
+    private final CompilationReadModel compilationReadModel;
 
     @Override
     @Transactional(readOnly = true)
     public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size) {
         log.info("Получение подборок с параметрами: pinned={}, from={}, size={}", pinned, from, size);
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<Compilation> compilations = (pinned != null)
-                ? compilationRepository.findByPinned(pinned, pageable).getContent()
-                : compilationRepository.findAll(pageable).getContent();
-        List<CompilationDto> result = compilations.stream()
-                .map(compilationMapper::toDto)
-                .map(this::addConfirmedRequestsAndViews)
-                .collect(Collectors.toList());
+        List<CompilationDto> result = compilationReadModel.getPage(pinned, from, size);
         log.info("Подборки найдена");
         return result;
     }
 
-    private CompilationDto addConfirmedRequestsAndViews(CompilationDto compilationDto) {
-        if (compilationDto.getEvents() != null && !compilationDto.getEvents().isEmpty()) {
-            List<String> uris = compilationDto.getEvents().stream()
-                    .map(event -> "/events/" + event.getId())
-                    .collect(Collectors.toList());
-            Map<String, Long> viewsMap = getViewsFromStats(uris);
-            for (EventShortDto eventDto : compilationDto.getEvents()) {
-                String eventUri = "/events/" + eventDto.getId();
-                eventDto.setViews(viewsMap.getOrDefault(eventUri, 0L));
-                try {
-                    Long confirmedRequests = requestClient.getConfirmedRequestsCount(eventDto.getId(),
-                            RequestStatus.CONFIRMED);
-                    eventDto.setConfirmedRequests(confirmedRequests != null ? confirmedRequests : 0L);
-                } catch (Exception e) {
-                    log.warn("Ошибка при получении количества подтвержденных запросов для события {}: {}", 
-                            eventDto.getId(), e.getMessage());
-                    eventDto.setConfirmedRequests(0L);
-                }
-            }
-        }
-        return compilationDto;
-    }
-
-    private Map<String, Long> getViewsFromStats(List<String> uris) {
-        try {
-            LocalDateTime end = LocalDateTime.now();
-            LocalDateTime start = end.minusYears(1);
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            List<ViewStatsDto> stats = statsClient.getStats(
-                    start.format(formatter),
-                    end.format(formatter),
-                    uris,
-                    false
-            );
-            Map<String, Long> viewsMap = new HashMap<>();
-            for (ViewStatsDto stat : stats) {
-                viewsMap.put(stat.getUri(), stat.getHits());
-            }
-            return viewsMap;
-        } catch (Exception e) {
-            log.warn("Ошибка при получении данных из сервиса статистики: {}", e.getMessage());
-            return new HashMap<>();
-        }
-    }
-
     @Override
     @Transactional(readOnly = true)
     public CompilationDto getCompilationById(Long compId) {
         log.info("Поиск подборки с id={}", compId);
-        Compilation compilation = compilationRepository.findById(compId)
+        CompilationDto result = compilationReadModel.get(compId)
                 .orElseThrow(() -> new NotFoundException("Compilation", "Id", compId));
-        CompilationDto result = compilationMapper.toDto(compilation);
         log.info("Подборка найдена");
-        return addConfirmedRequestsAndViews(result);
+        return result;
     }
 
     private Set<Event> loadEvents(List<Long> eventIds) {
-        List<Event> events = eventRepository.findAllById(eventIds);
+        List<Event> events = eventRepository.findAllByIdIn(eventIds);
         if (events.size() != eventIds.size()) {
             throw new NotFoundException("События не найдены по ID: " + eventIds);
         }
@@ -135,15 +69,16 @@ public class CompilationServiceImpl implements CompilationService {
                 : new HashSet<>();
         compilation.setEvents(events);
         Compilation savedCompilation = compilationRepository.save(compilation);
-        CompilationDto result = compilationMapper.toDto(savedCompilation);
+        compilationReadModel.evictCompilation(savedCompilation.getId());
+        CompilationDto result = compilationReadModel.toDto(savedCompilation);
         log.info("Подборка успешно создана");
-        return addConfirmedRequestsAndViews(result);
+        return result;
     }
 
     @Override
     public CompilationDto updateCompilation(Long compId, UpdateCompilationRequestDto updateComReqDto) {
         log.info("Обновление подборки с id={} с данными: {}", compId, updateComReqDto);
-        Compilation compilation = compilationRepository.findById(compId)
+        Compilation compilation = compilationRepository.findWithEventsById(compId)
                 .orElseThrow(() -> new NotFoundException("Compilation", "Id", compId));
         if (updateComReqDto.getTitle() != null && !updateComReqDto.getTitle().isBlank() &&
                 compilationRepository.existsByTitleIgnoreCaseAndTrim(updateComReqDto.getTitle()) &&
@@ -164,9 +99,10 @@ public class CompilationServiceImpl implements CompilationService {
             compilation.setEvents(events);
         }
         Compilation updatedCompilation = compilationRepository.save(compilation);
-        CompilationDto result = compilationMapper.toDto(updatedCompilation);
+        compilationReadModel.evictCompilation(compId);
+        CompilationDto result = compilationReadModel.toDto(updatedCompilation);
         log.info("Подборка успешно обновлена");
-        return addConfirmedRequestsAndViews(result);
+        return result;
     }
 
     @Override
@@ -176,6 +112,7 @@ public class CompilationServiceImpl implements CompilationService {
             throw new NotFoundException("Compilation", "Id", compId);
         }
         compilationRepository.deleteById(compId);
+        compilationReadModel.evictCompilation(compId);
         log.info("Подборка с id={} успешно удалена", compId);
     }
 }
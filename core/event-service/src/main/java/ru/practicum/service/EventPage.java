@@ -0,0 +1,8 @@
+package ru.practicum.service;
+
+import java.util.List;
+
+public record EventPage<T>(List<T> events, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+}
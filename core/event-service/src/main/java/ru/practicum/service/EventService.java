@@ -6,6 +6,7 @@ import ru.practicum.model.EventState;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface EventService {
 
@@ -19,29 +20,33 @@ public interface EventService {
     EventFullDto updateUserEvent(Long userId, Long eventId, UpdateEventUserRequestDto dto);
 
     //admin
-    List<EventFullDto> searchAdmin(List<Long> users,
-                                   List<EventState> states,
-                                   List<Long> categories,
-                                   LocalDateTime rangeStart,
-                                   LocalDateTime rangeEnd,
-                                   int from,
-                                   int size);
+    EventPage<EventFullDto> searchAdmin(List<Long> users,
+                                        List<EventState> states,
+                                        List<Long> categories,
+                                        LocalDateTime rangeStart,
+                                        LocalDateTime rangeEnd,
+                                        String cursor,
+                                        int from,
+                                        int size);
 
     EventFullDto updateAdminEvent(Long eventId, UpdateEventAdminRequestDto dto);
 
     EventFullDto getEventById(Long eventId);
 
+    void updateConfirmedRequests(Map<Long, Long> confirmedRequests);
+
     //public
-    List<EventShortDto> searchPublic(String text,
-                                     List<Long> categories,
-                                     Boolean paid,
-                                     LocalDateTime rangeStart,
-                                     LocalDateTime rangeEnd,
-                                     Boolean onlyAvailable,
-                                     String sort,
-                                     int from,
-                                     int size,
-                                     HttpServletRequest request);
+    EventPage<EventShortDto> searchPublic(String text,
+                                          List<Long> categories,
+                                          Boolean paid,
+                                          LocalDateTime rangeStart,
+                                          LocalDateTime rangeEnd,
+                                          Boolean onlyAvailable,
+                                          String sort,
+                                          String cursor,
+                                          int from,
+                                          int size,
+                                          HttpServletRequest request);
 
     EventFullDto getPublicEvent(Long eventId, HttpServletRequest request);
 }
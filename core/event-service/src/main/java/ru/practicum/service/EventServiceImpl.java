@@ -7,9 +7,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.EndpointHitDto;
+import ru.practicum.client.FanOutScope;
 import ru.practicum.client.StatsClient;
-import ru.practicum.client.request.RequestClient;
-import ru.practicum.client.user.UserClient;
+import ru.practicum.client.user.UserOperation;
 import ru.practicum.dto.event.*;
 import ru.practicum.dto.user.UserDto;
 import ru.practicum.dto.user.UserShortDto;
@@ -19,13 +19,16 @@ import ru.practicum.mapper.EventMapper;
 import ru.practicum.mapper.LocationMapper;
 import ru.practicum.model.*;
 import ru.practicum.repository.CategoryRepository;
+import ru.practicum.repository.EventCursor;
 import ru.practicum.repository.EventRepository;
+import ru.practicum.repository.EventShortView;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,16 +38,19 @@ import java.util.stream.Collectors;
 public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
-    private final UserClient userClient;
+    private final UserOperation userClient;
     private final CategoryRepository categoryRepository;
-    private final RequestClient requestClient;
 
     private final EventMapper eventMapper;
     private final LocationMapper locationMapper;
 
     private final StatsClient statsClient;
+    private final EventViewCounter eventViewCounter;
+    private final EventViewsCache eventViewsCache;
+    private final CompilationReadModel compilationReadModel;
 
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String SORT_VIEWS = "VIEWS";
+    private static final String SORT_RELEVANCE = "RELEVANCE";
 
     @Override
     @Transactional
@@ -65,10 +71,10 @@ public class EventServiceImpl implements EventService {
 
         List<Event> events = eventRepository.findAllByInitiatorId(userId,
                 PageRequest.of(from / size, size));
-        Map<Long, UserShortDto> usersMap = getUserShortDtoMap(Set.of(userId));
+        EventRelations relations = loadRelations(Set.of(userId));
 
         return events.stream()
-                .map(event -> buildShortDto(event, usersMap))
+                .map(event -> buildShortDto(event, relations.usersMap()))
                 .collect(Collectors.toList());
     }
 
@@ -115,29 +121,32 @@ public class EventServiceImpl implements EventService {
         }
 
         Event saved = eventRepository.save(event);
+        compilationReadModel.evictByEvent(eventId);
         return buildFullDto(saved);
     }
 
     @Override
-    public List<EventFullDto> searchAdmin(List<Long> users,
-                                          List<EventState> states,
-                                          List<Long> categories,
-                                          LocalDateTime rangeStart,
-                                          LocalDateTime rangeEnd,
-                                          int from,
-                                          int size) {
+    public EventPage<EventFullDto> searchAdmin(List<Long> users,
+                                               List<EventState> states,
+                                               List<Long> categories,
+                                               LocalDateTime rangeStart,
+                                               LocalDateTime rangeEnd,
+                                               String cursor,
+                                               int from,
+                                               int size) {
         checkRangeTime(rangeStart, rangeEnd);
 
         List<Event> events = eventRepository.findEventsByAdminFilters(users, states, categories, rangeStart,
-                rangeEnd, from, size);
+                rangeEnd, EventCursor.decode(cursor), from, size);
+        String nextCursor = getNextCursor(events, size, EventCursor::of);
         Set<Long> initiatorIds = events.stream()
                 .map(Event::getInitiatorId)
                 .collect(Collectors.toSet());
-        Map<Long, UserShortDto> usersMap = getUserShortDtoMap(initiatorIds);
+        EventRelations relations = loadRelations(initiatorIds);
 
-        return events.stream()
-                .map(event -> buildFullDto(event, usersMap))
-                .collect(Collectors.toList());
+        return new EventPage<>(events.stream()
+                .map(event -> buildFullDto(event, relations.usersMap()))
+                .collect(Collectors.toList()), nextCursor);
     }
 
     @Override
@@ -147,6 +156,14 @@ public class EventServiceImpl implements EventService {
         return buildFullDto(event);
     }
 
+    @Override
+    @Transactional
+    public void updateConfirmedRequests(Map<Long, Long> confirmedRequests) {
+        confirmedRequests.forEach((eventId, confirmed) ->
+                eventRepository.updateConfirmedRequests(eventId, Math.toIntExact(confirmed)));
+        log.debug("Обновлено количество подтверждённых заявок для {} событий", confirmedRequests.size());
+    }
+
     @Override
     @Transactional
     public EventFullDto updateAdminEvent(Long eventId, UpdateEventAdminRequestDto dto) {
@@ -182,38 +199,44 @@ public class EventServiceImpl implements EventService {
         }
 
         Event saved = eventRepository.save(event);
+        compilationReadModel.evictByEvent(eventId);
         return buildFullDto(saved);
     }
 
     @Override
-    public List<EventShortDto> searchPublic(String text,
-                                            List<Long> categories,
-                                            Boolean paid,
-                                            LocalDateTime rangeStart,
-                                            LocalDateTime rangeEnd,
-                                            Boolean onlyAvailable,
-                                            String sort,
-                                            int from,
-                                            int size,
-                                            HttpServletRequest request) {
+    public EventPage<EventShortDto> searchPublic(String text,
+                                                 List<Long> categories,
+                                                 Boolean paid,
+                                                 LocalDateTime rangeStart,
+                                                 LocalDateTime rangeEnd,
+                                                 Boolean onlyAvailable,
+                                                 String sort,
+                                                 String cursor,
+                                                 int from,
+                                                 int size,
+                                                 HttpServletRequest request) {
         checkRangeTime(rangeStart, rangeEnd);
 
-        List<Event> events = eventRepository.findPublishedEvents(
-                text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size);
+        List<EventShortView> events = eventRepository.findPublishedEvents(
+                text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, EventCursor.decode(cursor),
+                from, size);
 
         saveHit(request);
 
-        if (events.isEmpty()) return List.of();
+        if (events.isEmpty()) return new EventPage<>(List.of(), null);
+
+        boolean rankedByText = text != null && !text.isBlank() && SORT_RELEVANCE.equals(sort);
+        String nextCursor = rankedByText || SORT_VIEWS.equals(sort) ? null : getNextCursor(events, size, EventCursor::of);
 
         Set<Long> initiatorIds = events.stream()
-                .map(Event::getInitiatorId)
+                .map(EventShortView::initiatorId)
                 .collect(Collectors.toSet());
-        Map<Long, UserShortDto> usersMap = getUserShortDtoMap(initiatorIds);
+        EventRelations relations = loadRelations(initiatorIds,
+                events.stream().map(EventShortView::id).toList());
 
-        return events.stream()
-                .peek(event -> event.setViews(getViewsForEvent(event.getId())))
-                .map(event -> buildShortDto(event, usersMap))
-                .collect(Collectors.toList());
+        return new EventPage<>(events.stream()
+                .map(event -> buildShortDto(event, relations))
+                .collect(Collectors.toList()), nextCursor);
     }
 
     @Override
@@ -227,62 +250,63 @@ public class EventServiceImpl implements EventService {
 
         saveHit(request);
 
-        event.setViews(event.getViews() + 1);
-        eventRepository.save(event);
-
-        return buildFullDto(event);
+        EventFullDto dto = buildFullDto(event);
+        dto.setViews(event.getViews() + eventViewCounter.increment(eventId));
+        return dto;
     }
 
     private EventFullDto buildFullDto(Event event) {
-        return buildFullDto(event, getUserShortDtoMap(Set.of(event.getInitiatorId())));
+        EventRelations relations = loadRelations(Set.of(event.getInitiatorId()));
+        return buildFullDto(event, relations.usersMap());
     }
 
     private EventFullDto buildFullDto(Event event, Map<Long, UserShortDto> usersMap) {
         EventFullDto dto = eventMapper.toFullDto(event);
-        try {
-            Long confirmed = requestClient.getConfirmedRequestsCount(event.getId(), RequestStatus.CONFIRMED);
-            dto.setConfirmedRequests(confirmed != null ? confirmed : 0L);
-        } catch (Exception e) {
-            log.warn("Ошибка при получении количества подтвержденных запросов для события {}: {}",
-                    event.getId(), e.getMessage());
-            dto.setConfirmedRequests(0L);
-        }
-        UserShortDto initiator = usersMap.get(event.getInitiatorId());
-        if (initiator == null) {
-            log.warn("Пользователь с ID {} не найден, создаем минимальный UserShortDto", event.getInitiatorId());
-            initiator = UserShortDto.builder()
-                    .id(event.getInitiatorId())
-                    .name("Unknown User")
-                    .build();
-        }
-        dto.setInitiator(initiator);
+        dto.setInitiator(getInitiator(usersMap, event.getInitiatorId()));
         return dto;
     }
 
     private EventShortDto buildShortDto(Event event) {
-        return buildShortDto(event, getUserShortDtoMap(Set.of(event.getInitiatorId())));
+        EventRelations relations = loadRelations(Set.of(event.getInitiatorId()));
+        return buildShortDto(event, relations.usersMap());
     }
 
     private EventShortDto buildShortDto(Event event, Map<Long, UserShortDto> usersMap) {
         EventShortDto dto = eventMapper.toShortDto(event);
-        try {
-            Long confirmed = requestClient.getConfirmedRequestsCount(event.getId(), RequestStatus.CONFIRMED);
-            dto.setConfirmedRequests(confirmed != null ? confirmed : 0L);
-        } catch (Exception e) {
-            log.warn("Ошибка при получении количества подтвержденных запросов для события {}: {}",
-                    event.getId(), e.getMessage());
-            dto.setConfirmedRequests(0L);
-        }
-        UserShortDto initiator = usersMap.get(event.getInitiatorId());
+        dto.setInitiator(getInitiator(usersMap, event.getInitiatorId()));
+        return dto;
+    }
+
+    private EventShortDto buildShortDto(EventShortView event, EventRelations relations) {
+        EventShortDto dto = eventMapper.toShortDto(event);
+        dto.setViews(relations.viewsMap().getOrDefault(event.id(), 0L));
+        dto.setInitiator(getInitiator(relations.usersMap(), event.initiatorId()));
+        return dto;
+    }
+
+    private UserShortDto getInitiator(Map<Long, UserShortDto> usersMap, Long initiatorId) {
+        UserShortDto initiator = usersMap.get(initiatorId);
         if (initiator == null) {
-            log.warn("Пользователь с ID {} не найден, создаем минимальный UserShortDto", event.getInitiatorId());
+            log.warn("Пользователь с ID {} не найден, создаем минимальный UserShortDto", initiatorId);
             initiator = UserShortDto.builder()
-                    .id(event.getInitiatorId())
+                    .id(initiatorId)
                     .name("Unknown User")
                     .build();
         }
-        dto.setInitiator(initiator);
-        return dto;
+        return initiator;
+    }
+
+    private EventRelations loadRelations(Set<Long> initiatorIds) {
+        return new EventRelations(getUserShortDtoMap(initiatorIds), Map.of());
+    }
+
+    private EventRelations loadRelations(Set<Long> initiatorIds, List<Long> eventIds) {
+        try (FanOutScope scope = new FanOutScope()) {
+            Supplier<Map<Long, UserShortDto>> users = scope.fork(() -> getUserShortDtoMap(initiatorIds));
+            Supplier<Map<Long, Long>> views = scope.fork(() -> getViewsMap(eventIds));
+            scope.join();
+            return new EventRelations(users.get(), views.get());
+        }
     }
 
     private Map<Long, UserShortDto> getUserShortDtoMap(Set<Long> userIds) {
@@ -339,6 +363,13 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    private <T> String getNextCursor(List<T> events, int size, Function<T, EventCursor> cursorOf) {
+        if (events.size() < size) {
+            return null;
+        }
+        return cursorOf.apply(events.getLast()).encode();
+    }
+
     private void checkRangeTime(LocalDateTime start, LocalDateTime end) {
         if (start != null && end != null && start.isAfter(end)) {
             throw new IllegalArgumentException("Начало должно быть до окончания");
@@ -359,17 +390,11 @@ public class EventServiceImpl implements EventService {
         }
     }
 
-    private Long getViewsForEvent(Long eventId) {
-        String start = LocalDateTime.now().minusYears(10).format(FORMATTER);
-        String end = LocalDateTime.now().format(FORMATTER);
-        String uri = "/events/" + eventId;
+    private Map<Long, Long> getViewsMap(List<Long> eventIds) {
+        return eventViewsCache.getViews(eventIds);
+    }
 
-        try {
-            var listStats = statsClient.getStats(start, end, List.of(uri), true);
-            return listStats.isEmpty() ? 0L : listStats.get(0).getHits();
-        } catch (Exception e) {
-            log.warn("Не удалось получить хит статистики: {}", e.getMessage());
-            return 0L;
-        }
+    private record EventRelations(Map<Long, UserShortDto> usersMap,
+                                  Map<Long, Long> viewsMap) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package ru.practicum.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.repository.EventRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class EventViewCounter {
+
+    private final EventRepository eventRepository;
+    private final int batchSize;
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public EventViewCounter(EventRepository eventRepository,
+                            @Value("${events.views.flush-batch-size:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.batchSize = batchSize;
+    }
+
+    public long increment(Long eventId) {
+        return pending.merge(eventId, 1L, Long::sum);
+    }
+
+    public long pending(Long eventId) {
+        return pending.getOrDefault(eventId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${events.views.flush-interval-ms:5000}")
+    public void flush() {
+        Map<Long, Long> batch = new HashMap<>();
+        for (Long eventId : pending.keySet()) {
+            Long delta = pending.remove(eventId);
+            if (delta != null && delta != 0) {
+                batch.put(eventId, delta);
+            }
+            if (batch.size() >= batchSize) {
+                save(batch);
+                batch = new HashMap<>();
+            }
+        }
+        save(batch);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void save(Map<Long, Long> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            eventRepository.incrementViews(batch);
+        } catch (Exception e) {
+            batch.forEach((eventId, delta) -> pending.merge(eventId, delta, Long::sum));
+            log.warn("Не удалось сохранить просмотры {} событий: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.ViewStatsDto;
+import ru.practicum.client.StatsClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class EventViewsCache {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String EVENT_URI_PREFIX = "/events/";
+
+    private final StatsClient statsClient;
+    private final Cache<Long, Long> cache;
+
+    public EventViewsCache(StatsClient statsClient,
+                           ObjectProvider<MeterRegistry> meterRegistry,
+                           @Value("${events.views.cache.ttl:30s}") Duration ttl,
+                           @Value("${events.views.cache.maximum-size:10000}") long maximumSize) {
+        this.statsClient = statsClient;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "event.views"));
+    }
+
+    public Map<Long, Long> getViews(Collection<Long> eventIds) {
+        try {
+            return cache.getAll(eventIds, this::loadViews);
+        } catch (Exception e) {
+            log.warn("Не удалось получить хит статистики, просмотры не кешируются: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private Map<Long, Long> loadViews(Set<? extends Long> eventIds) {
+        String start = LocalDateTime.now().minusYears(10).format(FORMATTER);
+        String end = LocalDateTime.now().format(FORMATTER);
+        List<String> uris = eventIds.stream()
+                .map(eventId -> EVENT_URI_PREFIX + eventId)
+                .toList();
+
+        Map<Long, Long> views = new HashMap<>();
+        eventIds.forEach(eventId -> views.put(eventId, 0L));
+        for (ViewStatsDto stat : statsClient.fetchStats(start, end, uris, true)) {
+            if (stat.getUri().startsWith(EVENT_URI_PREFIX)) {
+                try {
+                    views.computeIfPresent(Long.parseLong(stat.getUri().substring(EVENT_URI_PREFIX.length())),
+                            (eventId, current) -> stat.getHits());
+                } catch (NumberFormatException ignored) {
+                    log.debug("Пропущен URI статистики не события: {}", stat.getUri());
+                }
+            }
+        }
+        log.debug("Загружены просмотры для {} событий одним запросом к статистике", eventIds.size());
+        return views;
+    }
+}
@@ -1,6 +1,8 @@
-DROP TABLE IF EXISTS categories CASCADE;
-DROP TABLE IF EXISTS events CASCADE;
-DROP TABLE IF EXISTS compilation CASCADE;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE OR REPLACE FUNCTION event_search_vector(annotation VARCHAR, description VARCHAR) RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('russian', annotation), 'A') || setweight(to_tsvector('russian', description), 'B')
+$$ LANGUAGE SQL IMMUTABLE;
 
 CREATE TABLE IF NOT EXISTS categories (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -33,10 +35,10 @@ CREATE TABLE IF NOT EXISTS compilation (
     title VARCHAR(128) NOT NULL UNIQUE
 );
 
-CREATE TABLE  IF NOT EXISTS compilation_events (
+CREATE TABLE IF NOT EXISTS compilation_events (
     compilation_id BIGINT NOT NULL,
     event_id BIGINT NOT NULL,
     PRIMARY KEY (compilation_id, event_id),
     CONSTRAINT fk_ce_to_compilation FOREIGN KEY(compilation_id) REFERENCES compilation(id),
     CONSTRAINT fk_ce_to_event FOREIGN KEY(event_id) REFERENCES events(id)
-);
\ No newline at end of file
+);
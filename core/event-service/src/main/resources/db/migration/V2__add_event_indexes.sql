@@ -0,0 +1,12 @@
+CREATE INDEX IF NOT EXISTS idx_events_initiator_id ON events (initiator_id);
+CREATE INDEX IF NOT EXISTS idx_events_category_id ON events (category_id);
+CREATE INDEX IF NOT EXISTS idx_events_state_event_date ON events (state, event_date);
+CREATE INDEX IF NOT EXISTS idx_events_event_date_id ON events (event_date, id);
+CREATE INDEX IF NOT EXISTS idx_events_published_event_date_id ON events (event_date, id) WHERE state = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_events_published_views_id ON events (views DESC, id) WHERE state = 'PUBLISHED';
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (event_search_vector(annotation, description));
+CREATE INDEX IF NOT EXISTS idx_events_annotation_trgm ON events USING GIN (lower(annotation) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_events_description_trgm ON events USING GIN (lower(description) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_compilation_pinned ON compilation (pinned);
+CREATE INDEX IF NOT EXISTS idx_compilation_events_event_id ON compilation_events (event_id);
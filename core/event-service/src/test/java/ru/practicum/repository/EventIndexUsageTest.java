@@ -0,0 +1,91 @@
+package ru.practicum.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class EventIndexUsageTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = POSTGRES.createConnection("");
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO categories (name) VALUES ('concerts')");
+            statement.execute("""
+                    INSERT INTO events (title, annotation, description, event_date, created_on, initiator_id,
+                                        category_id, state, paid, participant_limit, request_moderation,
+                                        confirmed_requests, views)
+                    SELECT 'event ' || i, 'annotation ' || i, 'description ' || i,
+                           TIMESTAMP '2024-01-01' + i * INTERVAL '1 hour', TIMESTAMP '2023-01-01', i % 500,
+                           1, (ARRAY['PENDING', 'PUBLISHED', 'CANCELED'])[i % 3 + 1], i % 2 = 0, 0, true, 0, i
+                    FROM generate_series(1, 50000) AS i
+                    """);
+            statement.execute("ANALYZE events");
+        }
+    }
+
+    @Test
+    void adminSearchUsesStateAndEventDateIndex() throws SQLException {
+        String plan = explain("""
+                SELECT e.id FROM events e
+                WHERE e.state IN ('PENDING', 'CANCELED')
+                AND e.event_date >= TIMESTAMP '2025-01-01' AND e.event_date <= TIMESTAMP '2025-01-03'
+                ORDER BY e.event_date DESC, e.id DESC
+                LIMIT 10
+                """);
+
+        assertIndexScan(plan, "events");
+    }
+
+    @Test
+    void publicSearchUsesPublishedEventDateIndex() throws SQLException {
+        String plan = explain("""
+                SELECT e.id FROM events e
+                WHERE e.state = 'PUBLISHED'
+                AND e.event_date >= TIMESTAMP '2025-01-01'
+                AND (e.event_date > TIMESTAMP '2025-02-01' OR e.id > 9000)
+                ORDER BY e.event_date ASC, e.id ASC
+                LIMIT 10
+                """);
+
+        assertIndexScan(plan, "events");
+        assertThat(plan).contains("idx_events_published_event_date_id");
+    }
+
+    private static void assertIndexScan(String plan, String table) {
+        assertThat(plan)
+                .containsAnyOf("Index Scan", "Index Only Scan", "Bitmap Index Scan")
+                .doesNotContain("Seq Scan on " + table);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Connection connection = POSTGRES.createConnection("");
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            StringJoiner lines = new StringJoiner("\n");
+            while (plan.next()) {
+                lines.add(plan.getString(1));
+            }
+            return lines.toString();
+        }
+    }
+}
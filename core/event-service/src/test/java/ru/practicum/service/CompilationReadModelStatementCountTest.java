@@ -0,0 +1,137 @@
+package ru.practicum.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.client.StatsClient;
+import ru.practicum.dto.compilation.CompilationDto;
+import ru.practicum.mapper.CategoryMapperImpl;
+import ru.practicum.mapper.CompilationMapperImpl;
+import ru.practicum.mapper.EventMapperImpl;
+import ru.practicum.mapper.LocationMapperImpl;
+import ru.practicum.model.Category;
+import ru.practicum.model.Compilation;
+import ru.practicum.model.Event;
+import ru.practicum.model.EventState;
+import ru.practicum.repository.CategoryRepository;
+import ru.practicum.repository.CompilationRepository;
+import ru.practicum.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.config.import=optional:configserver:",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CompilationReadModel.class, CompilationMapperImpl.class, EventMapperImpl.class, CategoryMapperImpl.class,
+        LocationMapperImpl.class})
+@Testcontainers
+class CompilationReadModelStatementCountTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @MockBean
+    StatsClient statsClient;
+
+    @Autowired
+    CompilationReadModel compilationReadModel;
+
+    @Autowired
+    CompilationRepository compilationRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void pageLoadsWithConstantStatementCount() {
+        Category category = categoryRepository.save(Category.builder().name("concerts").build());
+
+        createCompilations(category, 2, 2);
+        long small = countStatements(10, 2);
+
+        createCompilations(category, 20, 15);
+        long large = countStatements(50, 22);
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    private long countStatements(int pageSize, int expectedCompilations) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CompilationDto> page = compilationReadModel.getPage(null, 0, pageSize);
+
+        assertThat(page).hasSize(expectedCompilations);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createCompilations(Category category, int compilations, int eventsPerCompilation) {
+        long existing = compilationRepository.count();
+        for (int c = 0; c < compilations; c++) {
+            Set<Event> events = new HashSet<>();
+            for (int e = 0; e < eventsPerCompilation; e++) {
+                events.add(eventRepository.save(Event.builder()
+                        .title("event " + existing + "-" + c + "-" + e)
+                        .annotation("annotation")
+                        .description("description")
+                        .eventDate(LocalDateTime.now().plusDays(1))
+                        .createdOn(LocalDateTime.now())
+                        .initiatorId(1L)
+                        .category(category)
+                        .state(EventState.PUBLISHED)
+                        .participantLimit(0)
+                        .requestModeration(true)
+                        .build()));
+            }
+            compilationRepository.save(Compilation.builder()
+                    .title("compilation " + (existing + c))
+                    .events(events)
+                    .build());
+        }
+    }
+
+    @SpringBootConfiguration
+    @EntityScan("ru.practicum.model")
+    @EnableJpaRepositories("ru.practicum.repository")
+    static class JpaConfig {
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.client;
+
+import org.slf4j.MDC;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+public final class FanOutScope implements AutoCloseable {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final List<Future<?>> tasks = new ArrayList<>();
+    private boolean joined;
+
+    public <T> Supplier<T> fork(Callable<T> call) {
+        if (joined) {
+            throw new IllegalStateException("Нельзя запускать вызовы после ожидания результатов");
+        }
+        Future<T> task = EXECUTOR.submit(withCallerContext(call));
+        tasks.add(task);
+        return () -> resultOf(task);
+    }
+
+    public void join() {
+        joined = true;
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ожидание параллельных вызовов прервано", e);
+            } catch (ExecutionException | CancellationException ignored) {
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Future<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+    private static <T> Callable<T> withCallerContext(Callable<T> call) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return () -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                return call.call();
+            } finally {
+                MDC.clear();
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+
+    private <T> T resultOf(Future<T> task) {
+        if (!joined) {
+            throw new IllegalStateException("Результат параллельного вызова запрошен до join()");
+        }
+        return switch (task.state()) {
+            case SUCCESS -> task.resultNow();
+            case FAILED -> throw propagate(task.exceptionNow());
+            case CANCELLED, RUNNING -> throw new IllegalStateException("Параллельный вызов не завершён");
+        };
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Параллельный вызов завершился с ошибкой", cause);
+    }
+}
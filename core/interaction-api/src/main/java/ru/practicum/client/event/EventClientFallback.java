@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import ru.practicum.dto.event.EventFullDto;
 
+import java.util.Map;
+
 @Slf4j
 @Component
 public class EventClientFallback implements EventOperation {
@@ -19,8 +21,11 @@ public class EventClientFallback implements EventOperation {
         log.warn("Event service is unavailable. Fallback: returning null for event ID: {}", eventId);
         return null;
     }
-}
-
-
-
 
+    @Override
+    public void updateConfirmedRequests(Map<Long, Long> confirmedRequests) {
+        log.warn("Event service is unavailable. Fallback: confirmed requests for event IDs {} are not delivered",
+                confirmedRequests.keySet());
+        throw new IllegalStateException("Event service is unavailable");
+    }
+}
@@ -3,8 +3,12 @@ package ru.practicum.client.event;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import ru.practicum.dto.event.EventFullDto;
 
+import java.util.Map;
+
 public interface EventOperation {
 
     @GetMapping("/admin/events/{eventId}")
@@ -12,6 +16,9 @@ public interface EventOperation {
 
     @GetMapping("/events/{eventId}")
     EventFullDto getPublicEventById(@PathVariable @NotNull Long eventId);
+
+    @PutMapping("/admin/events/confirmed-requests")
+    void updateConfirmedRequests(@RequestBody Map<Long, Long> confirmedRequests);
 }
 
 
@@ -0,0 +1,109 @@
+package ru.practicum.client.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.user.UserDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Slf4j
+@Primary
+@Component
+public class CachingUserClient implements UserOperation {
+
+    private final UserClient userClient;
+    private final Cache<Long, Optional<UserDto>> cache;
+
+    public CachingUserClient(UserClient userClient,
+                             @Value("${user-client.cache.ttl:30s}") Duration ttl,
+                             @Value("${user-client.cache.negative-ttl:10s}") Duration negativeTtl,
+                             @Value("${user-client.cache.maximum-size:10000}") long maximumSize) {
+        this.userClient = userClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UserExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .build();
+    }
+
+    @Override
+    public UserDto getUserById(Long userId) {
+        Optional<UserDto> cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        try {
+            UserDto user = userClient.getUserById(userId);
+            if (user != null) {
+                cache.put(userId, Optional.of(user));
+            }
+            return user;
+        } catch (FeignException.NotFound e) {
+            cache.put(userId, Optional.empty());
+            return null;
+        }
+    }
+
+    @Override
+    public List<UserDto> getUsersByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return userClient.getUsersByIds(ids);
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, Optional<UserDto>> cached = cache.getAllPresent(requested);
+        List<UserDto> users = new ArrayList<>(requested.size());
+        cached.values().forEach(user -> user.ifPresent(users::add));
+
+        List<Long> missing = requested.stream()
+                .filter(userId -> !cached.containsKey(userId))
+                .toList();
+        if (missing.isEmpty()) {
+            return users;
+        }
+
+        List<UserDto> loaded = userClient.getUsersByIds(missing);
+        if (loaded == null || UserClientFallback.isUnavailable(loaded)) {
+            return users;
+        }
+        Set<Long> notFound = new LinkedHashSet<>(missing);
+        for (UserDto user : loaded) {
+            if (user != null && user.getId() != null) {
+                cache.put(user.getId(), Optional.of(user));
+                notFound.remove(user.getId());
+                users.add(user);
+            }
+        }
+        notFound.forEach(userId -> cache.put(userId, Optional.empty()));
+        log.debug("Пользователи {} загружены из user-service, {} взяты из кэша", missing, cached.size());
+        return users;
+    }
+
+    private record UserExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<Long, Optional<UserDto>> {
+
+        @Override
+        public long expireAfterCreate(Long userId, Optional<UserDto> user, long currentTime) {
+            return user.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long userId, Optional<UserDto> user, long currentTime, long currentDuration) {
+            return expireAfterCreate(userId, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long userId, Optional<UserDto> user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -2,10 +2,6 @@ package ru.practicum.client.user;
 
 import org.springframework.cloud.openfeign.FeignClient;
 
-@FeignClient(name = "user-service", fallback = UserClientFallback.class)
+@FeignClient(name = "user-service", fallbackFactory = UserClientFallbackFactory.class, primary = false)
 public interface UserClient extends UserOperation {
 }
-
-
-
-
@@ -1,18 +1,31 @@
 package ru.practicum.client.user;
 
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
 import ru.practicum.dto.user.UserDto;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 @Slf4j
-@Component
-public class UserClientFallback implements UserOperation {
+@RequiredArgsConstructor
+public class UserClientFallback implements UserClient {
+
+    private static final List<UserDto> UNAVAILABLE = Collections.unmodifiableList(new ArrayList<>());
+
+    private final Throwable cause;
+
+    static boolean isUnavailable(List<UserDto> users) {
+        return users == UNAVAILABLE;
+    }
 
     @Override
     public UserDto getUserById(Long userId) {
+        if (cause instanceof FeignException.NotFound notFound) {
+            throw notFound;
+        }
         log.warn("User service is unavailable. Fallback: returning null for user ID: {}", userId);
         return null;
     }
@@ -20,10 +33,6 @@ public class UserClientFallback implements UserOperation {
     @Override
     public List<UserDto> getUsersByIds(List<Long> ids) {
         log.warn("User service is unavailable. Fallback: returning empty list for user IDs: {}", ids);
-        return Collections.emptyList();
+        return UNAVAILABLE;
     }
 }
-
-
-
-
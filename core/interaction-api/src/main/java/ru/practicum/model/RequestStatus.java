@@ -4,7 +4,8 @@ public enum RequestStatus {
     PENDING,
     CONFIRMED,
     REJECTED,
-    CANCELED
+    CANCELED,
+    WAITLISTED
 }
 
 
@@ -0,0 +1,28 @@
+package ru.practicum.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "confirmed_count_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = {"eventId"})
+@ToString
+public class ConfirmedCountOutbox {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+}
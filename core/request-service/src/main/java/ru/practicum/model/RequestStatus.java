@@ -5,7 +5,8 @@ public enum RequestStatus {
     PENDING,
     CONFIRMED,
     REJECTED,
-    CANCELED
+    CANCELED,
+    WAITLISTED
 
 }
 
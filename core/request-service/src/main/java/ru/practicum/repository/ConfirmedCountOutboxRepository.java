@@ -0,0 +1,51 @@
+package ru.practicum.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.model.ConfirmedCountOutbox;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ConfirmedCountOutboxRepository extends JpaRepository<ConfirmedCountOutbox, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO confirmed_count_outbox (event_id, version)
+            VALUES (:eventId, nextval('confirmed_count_outbox_version_seq'))
+            ON CONFLICT (event_id) DO UPDATE SET version = EXCLUDED.version
+            """, nativeQuery = true)
+    int enqueue(@Param("eventId") Long eventId);
+
+    @Transactional
+    @Query(value = """
+            UPDATE confirmed_count_outbox o
+            SET claimed_until = now() + :leaseMs * INTERVAL '1 millisecond'
+            FROM (
+                SELECT event_id
+                FROM confirmed_count_outbox
+                WHERE claimed_until IS NULL OR claimed_until < now()
+                ORDER BY version
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ) p
+            WHERE o.event_id = p.event_id
+            RETURNING o.event_id AS "eventId", o.version AS "version",
+                COALESCE((SELECT c.confirmed_count FROM event_capacity c WHERE c.event_id = o.event_id), 0)
+                    AS "confirmedCount"
+            """, nativeQuery = true)
+    List<PendingConfirmedCount> claimPending(@Param("limit") int limit, @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Query(value = "DELETE FROM confirmed_count_outbox WHERE event_id = :eventId AND version = :version",
+            nativeQuery = true)
+    int deleteSent(@Param("eventId") Long eventId, @Param("version") Long version);
+
+    @Modifying
+    @Query(value = "UPDATE confirmed_count_outbox SET claimed_until = NULL WHERE event_id IN :eventIds",
+            nativeQuery = true)
+    int releaseClaims(@Param("eventIds") Collection<Long> eventIds);
+}
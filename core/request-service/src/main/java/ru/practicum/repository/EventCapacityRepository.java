@@ -0,0 +1,46 @@
+package ru.practicum.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.model.EventCapacity;
+
+import java.util.Optional;
+
+public interface EventCapacityRepository extends JpaRepository<EventCapacity, Long> {
+
+    @Query("SELECT c.confirmedCount FROM EventCapacity c WHERE c.eventId = :eventId")
+    Optional<Long> findConfirmedCount(@Param("eventId") Long eventId);
+
+    @Query(value = "SELECT confirmed_count FROM event_capacity WHERE event_id = :eventId FOR UPDATE",
+            nativeQuery = true)
+    Optional<Long> lockConfirmedCount(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO event_capacity (event_id, confirmed_count)
+            SELECT :eventId, (SELECT COUNT(*) FROM requests r WHERE r.event_id = :eventId AND r.status = 'CONFIRMED')
+            WHERE NOT EXISTS (SELECT 1 FROM event_capacity c WHERE c.event_id = :eventId)
+            ON CONFLICT (event_id) DO NOTHING
+            """, nativeQuery = true)
+    int initialize(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE event_capacity
+            SET confirmed_count = confirmed_count + :amount
+            WHERE event_id = :eventId AND (:participantLimit = 0 OR confirmed_count + :amount <= :participantLimit)
+            """, nativeQuery = true)
+    int tryReserve(@Param("eventId") Long eventId,
+                   @Param("participantLimit") int participantLimit,
+                   @Param("amount") long amount);
+
+    @Modifying
+    @Query(value = """
+            UPDATE event_capacity
+            SET confirmed_count = GREATEST(confirmed_count - :amount, 0)
+            WHERE event_id = :eventId
+            """, nativeQuery = true)
+    int release(@Param("eventId") Long eventId, @Param("amount") long amount);
+}
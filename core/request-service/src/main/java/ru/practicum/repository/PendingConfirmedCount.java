@@ -0,0 +1,10 @@
+package ru.practicum.repository;
+
+public interface PendingConfirmedCount {
+
+    Long getEventId();
+
+    Long getVersion();
+
+    Long getConfirmedCount();
+}
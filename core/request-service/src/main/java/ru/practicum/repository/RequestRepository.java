@@ -1,9 +1,14 @@
 package ru.practicum.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.model.Request;
 import ru.practicum.model.RequestStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +24,28 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
 
     long countByEventIdAndStatus(Long eventId, RequestStatus status);
 
+    boolean existsByEventIdAndStatus(Long eventId, RequestStatus status);
+
+    List<Request> findByEventIdAndStatusOrderByIdAsc(Long eventId, RequestStatus status, Limit limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Request r SET r.status = :newStatus WHERE r.id IN :ids AND r.status = :status")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") RequestStatus status,
+                     @Param("newStatus") RequestStatus newStatus);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Request r SET r.status = :newStatus WHERE r.id = :id AND r.status = :status")
+    int updateStatusById(@Param("id") Long id,
+                         @Param("status") RequestStatus status,
+                         @Param("newStatus") RequestStatus newStatus);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Request r SET r.status = :newStatus WHERE r.eventId = :eventId AND r.status = :status")
+    int updateStatusByEventId(@Param("eventId") Long eventId,
+                              @Param("status") RequestStatus status,
+                              @Param("newStatus") RequestStatus newStatus);
+
     List<Request> findByEventIdAndStatus(Long eventId, RequestStatus status);
 
     List<Request> findAllByRequesterId(Long requesterId);
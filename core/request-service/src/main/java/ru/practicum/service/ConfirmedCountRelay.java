@@ -0,0 +1,74 @@
+package ru.practicum.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.client.event.EventClient;
+import ru.practicum.repository.ConfirmedCountOutboxRepository;
+import ru.practicum.repository.PendingConfirmedCount;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ConfirmedCountRelay {
+
+    private final ConfirmedCountOutboxRepository outboxRepository;
+    private final EventClient eventClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long leaseMs;
+
+    public ConfirmedCountRelay(ConfirmedCountOutboxRepository outboxRepository,
+                               EventClient eventClient,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${requests.confirmed-count-outbox.batch-size:100}") int batchSize,
+                               @Value("${requests.confirmed-count-outbox.lease-ms:30000}") long leaseMs) {
+        this.outboxRepository = outboxRepository;
+        this.eventClient = eventClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.leaseMs = leaseMs;
+    }
+
+    @Scheduled(fixedDelayString = "${requests.confirmed-count-outbox.relay-interval-ms:1000}")
+    public void relay() {
+        List<PendingConfirmedCount> pending = outboxRepository.claimPending(batchSize, leaseMs);
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> confirmedRequests = pending.stream()
+                .collect(Collectors.toMap(PendingConfirmedCount::getEventId, PendingConfirmedCount::getConfirmedCount));
+        boolean sent = false;
+        try {
+            eventClient.updateConfirmedRequests(confirmedRequests);
+            sent = true;
+        } catch (Exception e) {
+            log.warn("Не удалось передать количество подтверждённых заявок для событий {}: {}",
+                    confirmedRequests.keySet(), e.getMessage());
+        } finally {
+            complete(pending, sent);
+        }
+    }
+
+    private void complete(List<PendingConfirmedCount> pending, boolean sent) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int deleted = 0;
+            if (sent) {
+                for (PendingConfirmedCount entry : pending) {
+                    deleted += outboxRepository.deleteSent(entry.getEventId(), entry.getVersion());
+                }
+            }
+            outboxRepository.releaseClaims(pending.stream()
+                    .map(PendingConfirmedCount::getEventId)
+                    .toList());
+            log.debug("Передано количество подтверждённых заявок для {} событий, изменилось во время отправки: {}",
+                    deleted, pending.size() - deleted);
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.exception.ConflictException;
+import ru.practicum.repository.ConfirmedCountOutboxRepository;
+import ru.practicum.repository.EventCapacityRepository;
+
+@Component
+@RequiredArgsConstructor
+public class ParticipantCapacity {
+
+    private final EventCapacityRepository eventCapacityRepository;
+    private final ConfirmedCountOutboxRepository outboxRepository;
+
+    public boolean tryAdmit(Long eventId, int participantLimit) {
+        eventCapacityRepository.initialize(eventId);
+        if (eventCapacityRepository.tryReserve(eventId, participantLimit, 1) == 0) {
+            return false;
+        }
+        outboxRepository.enqueue(eventId);
+        return true;
+    }
+
+    public void reserve(Long eventId, int participantLimit, int amount) {
+        if (amount <= 0) {
+            return;
+        }
+        if (eventCapacityRepository.tryReserve(eventId, participantLimit, amount) == 0) {
+            throw new ConflictException("Достигнут лимит участников");
+        }
+        outboxRepository.enqueue(eventId);
+    }
+
+    public long lockConfirmedCount(Long eventId) {
+        eventCapacityRepository.initialize(eventId);
+        return eventCapacityRepository.lockConfirmedCount(eventId).orElse(0L);
+    }
+
+    public boolean isFull(Long eventId, int participantLimit) {
+        if (participantLimit == 0) {
+            return false;
+        }
+        return confirmedCount(eventId) >= participantLimit;
+    }
+
+    public long confirmedCount(Long eventId) {
+        eventCapacityRepository.initialize(eventId);
+        return eventCapacityRepository.findConfirmedCount(eventId).orElse(0L);
+    }
+
+    public void release(Long eventId, long amount) {
+        if (amount > 0 && eventCapacityRepository.release(eventId, amount) > 0) {
+            outboxRepository.enqueue(eventId);
+        }
+    }
+}
@@ -4,8 +4,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.client.FanOutScope;
 import ru.practicum.client.event.EventClient;
-import ru.practicum.client.user.UserClient;
+import ru.practicum.client.user.UserOperation;
 import ru.practicum.dto.event.EventFullDto;
 import ru.practicum.dto.event.EventRequestStatusUpdateRequestDto;
 import ru.practicum.dto.event.EventRequestStatusUpdateResultDto;
@@ -20,8 +21,9 @@ import ru.practicum.model.EventState;
 import ru.practicum.repository.RequestRepository;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,9 +33,11 @@ import java.util.stream.Collectors;
 public class RequestServiceImpl implements RequestService {
 
     private final RequestRepository requestRepository;
-    private final UserClient userClient;
+    private final UserOperation userClient;
     private final EventClient eventClient;
     private final RequestMapper requestMapper;
+    private final ParticipantCapacity participantCapacity;
+    private final RequestWaitlist requestWaitlist;
 
     @Override
     public List<ParticipationRequestDto> getUserRequests(Long userId) {
@@ -49,11 +53,18 @@ public class RequestServiceImpl implements RequestService {
     @Override
     @Transactional
     public ParticipationRequestDto addParticipationRequest(Long userId, Long eventId) {
-        UserDto user = userClient.getUserById(userId);
-        if (user == null) {
-            throw new NotFoundException("Request", "UserId", userId);
+        UserDto user;
+        EventFullDto event;
+        try (FanOutScope scope = new FanOutScope()) {
+            Supplier<UserDto> userCall = scope.fork(() -> userClient.getUserById(userId));
+            Supplier<EventFullDto> eventCall = scope.fork(() -> getEventOrThrow(eventId));
+            scope.join();
+            user = userCall.get();
+            if (user == null) {
+                throw new NotFoundException("Request", "UserId", userId);
+            }
+            event = eventCall.get();
         }
-        EventFullDto event = getEventOrThrow(eventId);
 
         if (event.getState() != EventState.PUBLISHED) {
             throw new ConflictException("Нельзя запросить участие в неопубликованном событии");
@@ -68,17 +79,21 @@ public class RequestServiceImpl implements RequestService {
             throw new ConflictException("Запрос уже существует");
         }
 
-        if (event.getParticipantLimit() != 0 &&
-                requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED)
-                        >= event.getParticipantLimit()) {
-            throw new ConflictException("Достигнут лимит участников");
-        }
-
         RequestStatus status = RequestStatus.PENDING;
         if (!event.isRequestModeration() || event.getParticipantLimit() == 0) {
             status = RequestStatus.CONFIRMED;
         }
 
+        boolean admitted = status == RequestStatus.CONFIRMED
+                ? participantCapacity.tryAdmit(eventId, event.getParticipantLimit())
+                : !participantCapacity.isFull(eventId, event.getParticipantLimit());
+        if (!admitted) {
+            if (!requestWaitlist.isEnabled()) {
+                throw new ConflictException("Достигнут лимит участников");
+            }
+            status = RequestStatus.WAITLISTED;
+        }
+
         Request request = new Request();
         request.setEventId(eventId);
         request.setRequesterId(userId);
@@ -99,8 +114,24 @@ public class RequestServiceImpl implements RequestService {
             throw new ConflictException("Пользователь может отменять только свои запросы");
         }
 
+        RequestStatus previous = request.getStatus();
+        if (requestRepository.updateStatusById(requestId, previous, RequestStatus.CANCELED) == 0) {
+            throw new ConflictException("Статус запроса был изменён параллельно, повторите отмену");
+        }
+        if (previous == RequestStatus.CONFIRMED) {
+            participantCapacity.release(request.getEventId(), 1);
+        }
         request.setStatus(RequestStatus.CANCELED);
-        return requestMapper.toDto(requestRepository.save(request));
+
+        if ((previous == RequestStatus.CONFIRMED || previous == RequestStatus.PENDING)
+                && requestWaitlist.hasWaiting(request.getEventId())) {
+            try {
+                requestWaitlist.promote(getEventOrThrow(request.getEventId()));
+            } catch (NotFoundException e) {
+                log.warn("Не удалось продвинуть лист ожидания события {}: {}", request.getEventId(), e.getMessage());
+            }
+        }
+        return requestMapper.toDto(request);
     }
 
     @Override
@@ -126,16 +157,18 @@ public class RequestServiceImpl implements RequestService {
             throw new ConflictException("Только создатель может менять статус запроса");
         }
 
-        if (event.getParticipantLimit() != 0 &&
-                requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED)
-                        >= event.getParticipantLimit()) {
-            throw new ConflictException("Достигнут лимит участников");
+        RequestStatus targetStatus = updateRequestDto.getStatus();
+        if (targetStatus != RequestStatus.CONFIRMED && targetStatus != RequestStatus.REJECTED) {
+            throw new IllegalArgumentException("Статус заявки можно изменить только на CONFIRMED или REJECTED");
         }
 
-        List<Request> requests = requestRepository.findAllById(updateRequestDto.getRequestIds());
-        List<ParticipationRequestDto> confirmedRequests = new ArrayList<>();
-        List<ParticipationRequestDto> rejectedRequests = new ArrayList<>();
+        if (participantCapacity.isFull(eventId, event.getParticipantLimit())) {
+            throw new ConflictException("Достигнут лимит участников");
+        }
 
+        List<Request> requests = requestRepository.findAllById(updateRequestDto.getRequestIds()).stream()
+                .sorted(Comparator.comparing(Request::getId))
+                .toList();
         for (Request req : requests) {
             if (!req.getEventId().equals(eventId)) {
                 throw new ConflictException("Запрос не относится к этому событию");
@@ -144,24 +177,32 @@ public class RequestServiceImpl implements RequestService {
             if (req.getStatus() != RequestStatus.PENDING) {
                 throw new ConflictException("Можно менять только статус запросов, находящихся в ожидании");
             }
+        }
 
-            if (updateRequestDto.getStatus() == RequestStatus.CONFIRMED) {
-                if (event.getParticipantLimit() != 0 &&
-                        requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED)
-                                >= event.getParticipantLimit()) {
-                    req.setStatus(RequestStatus.REJECTED);
-                    rejectedRequests.add(requestMapper.toDto(req));
-                } else {
-                    req.setStatus(RequestStatus.CONFIRMED);
-                    confirmedRequests.add(requestMapper.toDto(req));
-                }
-            } else if (updateRequestDto.getStatus() == RequestStatus.REJECTED) {
-                req.setStatus(RequestStatus.REJECTED);
-                rejectedRequests.add(requestMapper.toDto(req));
-            }
+        int confirmedCount = 0;
+        if (targetStatus == RequestStatus.CONFIRMED && !requests.isEmpty()) {
+            long confirmed = participantCapacity.lockConfirmedCount(eventId);
+            confirmedCount = event.getParticipantLimit() == 0
+                    ? requests.size()
+                    : (int) Math.min(requests.size(), Math.max(0L, event.getParticipantLimit() - confirmed));
+        }
+        List<Request> toConfirm = requests.subList(0, confirmedCount);
+        List<Request> toReject = requests.subList(confirmedCount, requests.size());
+
+        int confirmedRows = updatePending(toConfirm, RequestStatus.CONFIRMED);
+        participantCapacity.reserve(eventId, event.getParticipantLimit(), confirmedRows);
+        updatePending(toReject, RequestStatus.REJECTED);
+        if (targetStatus == RequestStatus.CONFIRMED
+                && participantCapacity.isFull(eventId, event.getParticipantLimit())) {
+            int autoRejected = requestRepository.updateStatusByEventId(eventId, RequestStatus.PENDING,
+                    RequestStatus.REJECTED);
+            log.info("Лимит участников события {} исчерпан, отклонено ожидающих заявок: {}", eventId, autoRejected);
+        } else if (!toReject.isEmpty()) {
+            requestWaitlist.promote(event);
         }
 
-        requestRepository.saveAll(requests);
+        List<ParticipationRequestDto> confirmedRequests = toDtos(toConfirm, RequestStatus.CONFIRMED);
+        List<ParticipationRequestDto> rejectedRequests = toDtos(toReject, RequestStatus.REJECTED);
 
         return new EventRequestStatusUpdateResultDto(confirmedRequests, rejectedRequests);
     }
@@ -171,6 +212,30 @@ public class RequestServiceImpl implements RequestService {
         return requestRepository.countByEventIdAndStatus(eventId, status);
     }
 
+    private List<Long> getIds(List<Request> requests) {
+        return requests.stream()
+                .map(Request::getId)
+                .toList();
+    }
+
+    private int updatePending(List<Request> requests, RequestStatus newStatus) {
+        if (requests.isEmpty()) {
+            return 0;
+        }
+        int updated = requestRepository.updateStatus(getIds(requests), RequestStatus.PENDING, newStatus);
+        if (updated != requests.size()) {
+            throw new ConflictException("Статус части заявок был изменён параллельно, повторите запрос");
+        }
+        return updated;
+    }
+
+    private List<ParticipationRequestDto> toDtos(List<Request> requests, RequestStatus status) {
+        return requests.stream()
+                .map(requestMapper::toDto)
+                .peek(dto -> dto.setStatus(status))
+                .collect(Collectors.toList());
+    }
+
     private EventFullDto getEventOrThrow(Long eventId) {
         EventFullDto event = eventClient.getEventById(eventId);
         if (event == null) {
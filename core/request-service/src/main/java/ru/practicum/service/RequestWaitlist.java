@@ -0,0 +1,67 @@
+package ru.practicum.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.dto.event.EventFullDto;
+import ru.practicum.model.Request;
+import ru.practicum.model.RequestStatus;
+import ru.practicum.repository.RequestRepository;
+
+import java.util.List;
+
+@Slf4j
+@Component
+public class RequestWaitlist {
+
+    private final RequestRepository requestRepository;
+    private final ParticipantCapacity participantCapacity;
+    private final boolean enabled;
+
+    public RequestWaitlist(RequestRepository requestRepository,
+                           ParticipantCapacity participantCapacity,
+                           @Value("${requests.waitlist.enabled:false}") boolean enabled) {
+        this.requestRepository = requestRepository;
+        this.participantCapacity = participantCapacity;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean hasWaiting(Long eventId) {
+        return enabled && requestRepository.existsByEventIdAndStatus(eventId, RequestStatus.WAITLISTED);
+    }
+
+    public void promote(EventFullDto event) {
+        Long eventId = event.getId();
+        int participantLimit = event.getParticipantLimit();
+        if (participantLimit == 0 || !hasWaiting(eventId)) {
+            return;
+        }
+        long free = participantLimit - participantCapacity.lockConfirmedCount(eventId);
+        RequestStatus promotedStatus = event.isRequestModeration() ? RequestStatus.PENDING : RequestStatus.CONFIRMED;
+        if (promotedStatus == RequestStatus.PENDING) {
+            free -= requestRepository.countByEventIdAndStatus(eventId, RequestStatus.PENDING);
+        }
+        if (free <= 0) {
+            return;
+        }
+
+        List<Long> ids = requestRepository.findByEventIdAndStatusOrderByIdAsc(eventId, RequestStatus.WAITLISTED,
+                        Limit.of((int) Math.min(free, Integer.MAX_VALUE)))
+                .stream()
+                .map(Request::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        int promoted = requestRepository.updateStatus(ids, RequestStatus.WAITLISTED, promotedStatus);
+        if (promotedStatus == RequestStatus.CONFIRMED) {
+            participantCapacity.reserve(eventId, participantLimit, promoted);
+        }
+        log.info("Из листа ожидания события {} переведено в {} заявок: {}", eventId, promotedStatus, promoted);
+    }
+}
@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS requests CASCADE;
-
 CREATE TABLE IF NOT EXISTS requests (
     id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
     created TIMESTAMP   NOT NULL,
@@ -8,7 +6,3 @@ CREATE TABLE IF NOT EXISTS requests (
     event_id BIGINT NOT NULL,
     CONSTRAINT uq_requester_event UNIQUE (requester_id, event_id)
 );
-
-
-
-
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_requests_event_id_status ON requests (event_id, status);
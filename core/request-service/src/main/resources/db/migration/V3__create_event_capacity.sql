@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS event_capacity (
+    event_id BIGINT PRIMARY KEY,
+    confirmed_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT chk_event_capacity_confirmed_count CHECK (confirmed_count >= 0)
+);
+
+INSERT INTO event_capacity (event_id, confirmed_count)
+SELECT event_id, COUNT(*)
+FROM requests
+WHERE status = 'CONFIRMED'
+GROUP BY event_id
+ON CONFLICT (event_id) DO NOTHING;
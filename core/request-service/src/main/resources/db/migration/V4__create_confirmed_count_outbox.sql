@@ -0,0 +1,13 @@
+CREATE SEQUENCE IF NOT EXISTS confirmed_count_outbox_version_seq;
+
+CREATE TABLE IF NOT EXISTS confirmed_count_outbox (
+    event_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_confirmed_count_outbox_version ON confirmed_count_outbox (version);
+
+INSERT INTO confirmed_count_outbox (event_id, version)
+SELECT event_id, nextval('confirmed_count_outbox_version_seq')
+FROM event_capacity
+ON CONFLICT (event_id) DO NOTHING;
@@ -0,0 +1 @@
+ALTER TABLE confirmed_count_outbox ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
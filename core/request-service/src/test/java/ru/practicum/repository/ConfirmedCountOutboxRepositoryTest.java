@@ -0,0 +1,98 @@
+package ru.practicum.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.config.import=optional:configserver:",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+class ConfirmedCountOutboxRepositoryTest {
+
+    private static final long LEASE_MS = 60_000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    ConfirmedCountOutboxRepository outboxRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void claimSendAndDeleteCycle() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("INSERT INTO event_capacity (event_id, confirmed_count) VALUES (1, 3)");
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.enqueue(1L);
+            outboxRepository.enqueue(2L);
+        });
+
+        Map<Long, PendingConfirmedCount> claimed = byEventId(outboxRepository.claimPending(10, LEASE_MS));
+
+        assertThat(claimed).containsOnlyKeys(1L, 2L);
+        assertThat(claimed.get(1L).getConfirmedCount()).isEqualTo(3L);
+        assertThat(claimed.get(2L).getConfirmedCount()).isZero();
+        assertThat(claimed.values()).allSatisfy(pending -> assertThat(pending.getVersion()).isNotNull());
+        assertThat(outboxRepository.claimPending(10, LEASE_MS)).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.enqueue(1L));
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteSent(1L, claimed.get(1L).getVersion())
+                        + outboxRepository.deleteSent(2L, claimed.get(2L).getVersion()));
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.releaseClaims(List.of(1L)));
+
+        assertThat(deleted).isEqualTo(1);
+        List<PendingConfirmedCount> reclaimed = outboxRepository.claimPending(10, LEASE_MS);
+        assertThat(reclaimed).singleElement().satisfies(pending -> {
+            assertThat(pending.getEventId()).isEqualTo(1L);
+            assertThat(pending.getVersion()).isGreaterThan(claimed.get(1L).getVersion());
+        });
+    }
+
+    private static Map<Long, PendingConfirmedCount> byEventId(List<PendingConfirmedCount> pending) {
+        return pending.stream().collect(Collectors.toMap(PendingConfirmedCount::getEventId, count -> count));
+    }
+
+    @SpringBootConfiguration
+    @EntityScan("ru.practicum.model")
+    @EnableJpaRepositories("ru.practicum.repository")
+    static class JpaConfig {
+    }
+}
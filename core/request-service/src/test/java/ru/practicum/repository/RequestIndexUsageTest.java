@@ -0,0 +1,83 @@
+package ru.practicum.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class RequestIndexUsageTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = POSTGRES.createConnection("");
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO requests (created, status, requester_id, event_id)
+                    SELECT TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute',
+                           (ARRAY['PENDING', 'CONFIRMED', 'REJECTED', 'CANCELED'])[i % 4 + 1], i, i % 5000
+                    FROM generate_series(1, 100000) AS i
+                    """);
+            statement.execute("ANALYZE requests");
+        }
+    }
+
+    @Test
+    void countByEventAndStatusUsesEventStatusIndex() throws SQLException {
+        String plan = explain("""
+                SELECT COUNT(r.id) FROM requests r
+                WHERE r.event_id = 42 AND r.status = 'CONFIRMED'
+                """);
+
+        assertIndexScan(plan, "requests");
+        assertThat(plan).contains("idx_requests_event_id_status");
+    }
+
+    @Test
+    void pendingByEventUsesEventStatusIndex() throws SQLException {
+        String plan = explain("""
+                SELECT r.id FROM requests r
+                WHERE r.event_id = 42 AND r.status = 'PENDING'
+                ORDER BY r.id ASC
+                LIMIT 10
+                """);
+
+        assertIndexScan(plan, "requests");
+        assertThat(plan).contains("idx_requests_event_id_status");
+    }
+
+    private static void assertIndexScan(String plan, String table) {
+        assertThat(plan)
+                .containsAnyOf("Index Scan", "Index Only Scan", "Bitmap Index Scan")
+                .doesNotContain("Seq Scan on " + table);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Connection connection = POSTGRES.createConnection("");
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            StringJoiner lines = new StringJoiner("\n");
+            while (plan.next()) {
+                lines.add(plan.getString(1));
+            }
+            return lines.toString();
+        }
+    }
+}
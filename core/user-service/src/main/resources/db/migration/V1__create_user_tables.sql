@@ -1,11 +1,5 @@
-DROP TABLE IF EXISTS users CASCADE;
-
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(250) NOT NULL,
     email VARCHAR(254) NOT NULL UNIQUE
 );
-
-
-
-
@@ -0,0 +1,153 @@
+package ru.practicum.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import ru.practicum.EndpointHitDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Slf4j
+class HitBuffer implements AutoCloseable {
+
+    private final BlockingQueue<EndpointHitDto> queue;
+    private final StatsClientProperties.Async properties;
+    private final Consumer<List<EndpointHitDto>> sender;
+    private final Consumer<List<EndpointHitDto>> overflow;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    HitBuffer(StatsClientProperties.Async properties,
+              Consumer<List<EndpointHitDto>> sender,
+              Consumer<List<EndpointHitDto>> overflow) {
+        this.properties = properties;
+        this.sender = sender;
+        this.overflow = overflow;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-hit-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void add(EndpointHitDto hit) {
+        if (!offer(hit)) {
+            spill(List.of(hit), "Буфер хитов статистики переполнен, хит отброшен. Всего отброшено: {}");
+            return;
+        }
+        enqueued.incrementAndGet();
+        if (queue.size() >= properties.getBatchSize() && !flusher.isShutdown()
+                && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+                List<EndpointHitDto> batch = new ArrayList<>();
+                queue.drainTo(batch);
+                if (!batch.isEmpty()) {
+                    spill(batch, "Буфер хитов статистики закрывается, хиты отброшены. Всего отброшено: {}");
+                }
+            }
+        }
+    }
+
+    long getEnqueued() {
+        return enqueued.get();
+    }
+
+    long getSent() {
+        return sent.get();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private boolean offer(EndpointHitDto hit) {
+        if (properties.getOverflowPolicy() == OverflowPolicy.BLOCK) {
+            try {
+                return queue.offer(hit, properties.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        while (!queue.offer(hit)) {
+            EndpointHitDto oldest = queue.poll();
+            if (oldest != null) {
+                spill(List.of(oldest),
+                        "Буфер хитов статистики переполнен, отброшен самый старый хит. Всего отброшено: {}");
+            }
+        }
+        return true;
+    }
+
+    private void spill(List<EndpointHitDto> hits, String dropMessage) {
+        if (overflow != null) {
+            overflow.accept(hits);
+            return;
+        }
+        long total = dropped.addAndGet(hits.size());
+        log.warn(dropMessage, total);
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        List<EndpointHitDto> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                sender.accept(batch);
+                sent.addAndGet(batch.size());
+            } catch (HttpClientErrorException e) {
+                failed.addAndGet(batch.size());
+                log.error("Сервис статистики отклонил пакет из {} хитов: {}", batch.size(), e.getMessage());
+            } catch (Exception e) {
+                log.error("Не удалось отправить пакет из {} хитов статистики: {}", batch.size(), e.getMessage());
+                if (overflow != null) {
+                    overflow.accept(batch);
+                } else {
+                    failed.addAndGet(batch.size());
+                }
+            }
+            batch = new ArrayList<>(properties.getBatchSize());
+        }
+    }
+}
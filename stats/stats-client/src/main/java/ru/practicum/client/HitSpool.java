@@ -0,0 +1,375 @@
+package ru.practicum.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import ru.practicum.EndpointHitDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Slf4j
+class HitSpool implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String QUARANTINE_FILE = "quarantine.spool";
+    private static final int HEADER_SIZE = Integer.BYTES;
+
+    private final StatsClientProperties.Spool properties;
+    private final Consumer<List<EndpointHitDto>> sender;
+    private final ScheduledExecutorService replayer;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence;
+    private int failedAttempts;
+
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong quarantined = new AtomicLong();
+
+    HitSpool(StatsClientProperties.Spool properties, Consumer<List<EndpointHitDto>> sender) {
+        this.properties = properties;
+        this.sender = sender;
+        openExistingSegments();
+        this.replayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-hit-spool-replayer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getReplayInterval().toMillis();
+        replayer.scheduleWithFixedDelay(this::replay, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void append(List<EndpointHitDto> hits) {
+        for (EndpointHitDto hit : hits) {
+            byte[] record = encode(hit);
+            if (HEADER_SIZE + record.length > properties.getSegmentSize().toBytes()) {
+                dropped.incrementAndGet();
+                log.warn("Хит статистики слишком велик для сегмента спула и отброшен: {}", hit.getUri());
+                continue;
+            }
+            Segment active = segments.peekLast();
+            if (active == null || !active.fits(record.length)) {
+                active = rotate();
+            }
+            active.write(record);
+            spooled.incrementAndGet();
+        }
+    }
+
+    long getSpooled() {
+        return spooled.get();
+    }
+
+    long getReplayed() {
+        return replayed.get();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    long getQuarantined() {
+        return quarantined.get();
+    }
+
+    synchronized long pending() {
+        return segments.stream().mapToLong(Segment::liveRecords).sum();
+    }
+
+    @Override
+    public void close() {
+        replayer.shutdownNow();
+        synchronized (this) {
+            segments.forEach(Segment::close);
+            segments.clear();
+        }
+    }
+
+    private void replay() {
+        try {
+            while (true) {
+                Segment segment;
+                List<Integer> offsets = new ArrayList<>();
+                List<EndpointHitDto> batch = new ArrayList<>();
+                synchronized (this) {
+                    segment = segments.peekFirst();
+                    if (segment == null) {
+                        return;
+                    }
+                    segment.read(properties.getReplayBatchSize(), offsets, batch);
+                    if (batch.isEmpty()) {
+                        if (segment == segments.peekLast()) {
+                            return;
+                        }
+                        segments.pollFirst();
+                        segment.delete();
+                        continue;
+                    }
+                }
+                try {
+                    sender.accept(batch);
+                    replayed.addAndGet(batch.size());
+                    log.info("Из спула повторно отправлено {} хитов статистики", batch.size());
+                } catch (HttpClientErrorException e) {
+                    dropped.addAndGet(batch.size());
+                    log.error("Сервис статистики отклонил {} хитов из спула, они удалены: {}",
+                            batch.size(), e.getMessage());
+                } catch (HttpServerErrorException e) {
+                    if (++failedAttempts < properties.getMaxReplayAttempts()) {
+                        log.warn("Сервис статистики вернул {} на пакет из спула, попытка {} из {}",
+                                e.getStatusCode(), failedAttempts, properties.getMaxReplayAttempts());
+                        return;
+                    }
+                    quarantine(batch);
+                    log.error("Пакет из {} хитов {} раз подряд получил ошибку сервиса статистики и перенесён в {}",
+                            batch.size(), failedAttempts, QUARANTINE_FILE);
+                }
+                failedAttempts = 0;
+                synchronized (this) {
+                    if (segments.peekFirst() == segment) {
+                        segment.markConsumed(offsets);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Сервис статистики недоступен, повторная отправка из спула отложена: {}", e.getMessage());
+        }
+    }
+
+    private void quarantine(List<EndpointHitDto> batch) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (EndpointHitDto hit : batch) {
+                byte[] record = encode(hit);
+                out.writeInt(record.length);
+                out.write(record);
+            }
+            Files.write(Path.of(properties.getDirectory(), QUARANTINE_FILE), bytes.toByteArray(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            quarantined.addAndGet(batch.size());
+        } catch (IOException e) {
+            dropped.addAndGet(batch.size());
+            log.error("Не удалось сохранить пакет в карантин спула, {} хитов удалены: {}",
+                    batch.size(), e.getMessage());
+        }
+    }
+
+    private Segment rotate() {
+        Segment active = segments.peekLast();
+        if (active != null) {
+            active.force();
+        }
+        long segmentSize = properties.getSegmentSize().toBytes();
+        while (!segments.isEmpty() && (segments.size() + 1) * segmentSize > properties.getMaxSize().toBytes()) {
+            Segment oldest = segments.pollFirst();
+            long lost = oldest.liveRecords();
+            dropped.addAndGet(lost);
+            oldest.delete();
+            log.warn("Превышен размер спула статистики, удалён сегмент {} с {} хитами", oldest.path, lost);
+        }
+        Segment segment = Segment.open(segmentPath(nextSequence++), segmentSize);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private void openExistingSegments() {
+        Path directory = Path.of(properties.getDirectory());
+        try {
+            Files.createDirectories(directory);
+            List<Path> existing;
+            try (Stream<Path> files = Files.list(directory)) {
+                existing = files
+                        .filter(path -> sequenceOf(path) >= 0)
+                        .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                        .toList();
+            }
+            for (Path path : existing) {
+                Segment segment = Segment.open(path, Files.size(path));
+                segments.addLast(segment);
+                nextSequence = sequenceOf(path) + 1;
+            }
+            long pending = pending();
+            if (pending > 0) {
+                log.info("В спуле статистики найдено {} неотправленных хитов", pending);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть спул статистики: " + directory, e);
+        }
+    }
+
+    private Path segmentPath(long sequence) {
+        return Path.of(properties.getDirectory(), SEGMENT_PREFIX + String.format("%019d", sequence) + SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] encode(EndpointHitDto hit) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(hit.getApp());
+            out.writeUTF(hit.getUri());
+            out.writeUTF(hit.getIp());
+            out.writeLong(hit.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(hit.getTimestamp().getNano());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static EndpointHitDto decode(ByteBuffer buffer) {
+        byte[] record = new byte[buffer.remaining()];
+        buffer.get(record);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            return EndpointHitDto.builder()
+                    .app(in.readUTF())
+                    .uri(in.readUTF())
+                    .ip(in.readUTF())
+                    .timestamp(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int readPosition;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            scan();
+        }
+
+        static Segment open(Path path, long size) {
+            try {
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+                return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось открыть сегмент спула: " + path, e);
+            }
+        }
+
+        boolean fits(int recordLength) {
+            return writePosition + HEADER_SIZE + recordLength <= buffer.capacity();
+        }
+
+        void write(byte[] record) {
+            buffer.put(writePosition + HEADER_SIZE, record);
+            buffer.putInt(writePosition, record.length);
+            writePosition += HEADER_SIZE + record.length;
+        }
+
+        void read(int limit, List<Integer> offsets, List<EndpointHitDto> hits) {
+            int position = readPosition;
+            while (hits.size() < limit && position < writePosition) {
+                int length = buffer.getInt(position);
+                if (length > 0) {
+                    offsets.add(position);
+                    hits.add(decode(buffer.slice(position + HEADER_SIZE, length)));
+                }
+                position += HEADER_SIZE + Math.abs(length);
+            }
+        }
+
+        void markConsumed(List<Integer> offsets) {
+            for (int offset : offsets) {
+                buffer.putInt(offset, -buffer.getInt(offset));
+            }
+            while (readPosition < writePosition && buffer.getInt(readPosition) < 0) {
+                readPosition += HEADER_SIZE - buffer.getInt(readPosition);
+            }
+        }
+
+        long liveRecords() {
+            long live = 0;
+            int position = readPosition;
+            while (position < writePosition) {
+                int length = buffer.getInt(position);
+                if (length > 0) {
+                    live++;
+                }
+                position += HEADER_SIZE + Math.abs(length);
+            }
+            return live;
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Не удалось закрыть сегмент спула {}: {}", path, e.getMessage());
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Не удалось удалить сегмент спула {}: {}", path, e.getMessage());
+            }
+        }
+
+        private void scan() {
+            int position = 0;
+            while (position + HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length == 0 || position + HEADER_SIZE + Math.abs(length) > buffer.capacity()) {
+                    break;
+                }
+                if (length < 0 && readPosition == position) {
+                    readPosition = position + HEADER_SIZE - length;
+                }
+                position += HEADER_SIZE + Math.abs(length);
+            }
+            writePosition = position;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.client;
+
+public enum LoadBalancingStrategy {
+
+    ROUND_ROBIN,
+    LEAST_OUTSTANDING
+
+}
@@ -0,0 +1,8 @@
+package ru.practicum.client;
+
+public enum OverflowPolicy {
+
+    DROP_OLDEST,
+    BLOCK
+
+}
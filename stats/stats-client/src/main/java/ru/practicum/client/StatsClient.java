@@ -9,5 +9,9 @@ public interface StatsClient {
 
     void saveHit(EndpointHitDto endpointHitDto);
 
+    void saveHits(List<EndpointHitDto> endpointHitDtos);
+
     List<ViewStatsDto> getStats(String start, String end, List<String> uris, Boolean unique);
+
+    List<ViewStatsDto> fetchStats(String start, String end, List<String> uris, Boolean unique);
 }
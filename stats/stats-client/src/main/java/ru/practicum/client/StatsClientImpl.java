@@ -1,6 +1,11 @@
 package ru.practicum.client;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -12,31 +17,40 @@ import org.springframework.retry.backoff.FixedBackOffPolicy;
 import org.springframework.retry.policy.MaxAttemptsRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import org.springframework.web.util.UriComponentsBuilder;
 import ru.practicum.EndpointHitDto;
+import ru.practicum.HitBatchResultDto;
 import ru.practicum.ViewStatsDto;
 
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 @Slf4j
 @Component
-public class StatsClientImpl implements StatsClient {
+public class StatsClientImpl implements StatsClient, DisposableBean {
 
     private final RestTemplate restTemplate;
-    private final DiscoveryClient discoveryClient;
+    private final StatsInstanceSelector instanceSelector;
     private final RetryTemplate retryTemplate;
-    private final String statsServiceId;
+    private final HitBuffer hitBuffer;
+    private final HitSpool hitSpool;
+    private final int maxBatchSize;
+    private final AtomicLong rejected = new AtomicLong();
 
     @Autowired
     public StatsClientImpl(DiscoveryClient discoveryClient,
                           @Value("${discovery.services.stats-server-id:stats-server}") String statsServiceId,
-                          RestTemplateBuilder builder) {
-        this.discoveryClient = discoveryClient;
-        this.statsServiceId = statsServiceId;
+                          RestTemplateBuilder builder,
+                          StatsClientProperties properties,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.instanceSelector = new StatsInstanceSelector(discoveryClient, statsServiceId, properties.getDiscovery());
         this.restTemplate = builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(""))
                 .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
@@ -50,20 +64,61 @@ public class StatsClientImpl implements StatsClient {
         MaxAttemptsRetryPolicy retryPolicy = new MaxAttemptsRetryPolicy();
         retryPolicy.setMaxAttempts(3);
         retryTemplate.setRetryPolicy(retryPolicy);
+
+        this.maxBatchSize = properties.getMaxBatchSize();
+        properties.getAsync().setBatchSize(Math.min(properties.getAsync().getBatchSize(), maxBatchSize));
+        properties.getSpool().setReplayBatchSize(Math.min(properties.getSpool().getReplayBatchSize(), maxBatchSize));
+        this.hitSpool = properties.getSpool().isEnabled()
+                ? new HitSpool(properties.getSpool(), this::postHits)
+                : null;
+        this.hitBuffer = properties.getAsync().isEnabled()
+                ? new HitBuffer(properties.getAsync(), this::postHits, hitSpool != null ? hitSpool::append : null)
+                : null;
+        meterRegistry.ifAvailable(this::bindMetrics);
     }
 
     @Override
     public void saveHit(EndpointHitDto endpointHitDto) {
+        if (hitBuffer != null) {
+            hitBuffer.add(endpointHitDto);
+            return;
+        }
         HttpEntity<EndpointHitDto> requestEntity = new HttpEntity<>(endpointHitDto, defaultHeaders());
         try {
-            restTemplate.exchange(makeUri("/hit"), HttpMethod.POST, requestEntity, Object.class);
+            exchange("/hit", uri -> restTemplate.exchange(uri, HttpMethod.POST, requestEntity, Object.class));
             log.info("Статистика успешно отправлена: {}", endpointHitDto);
-        } catch (HttpStatusCodeException e) {
+        } catch (HttpClientErrorException e) {
             log.error("Не удалось отправить хит статистики. Код ошибки: {}, сообщение: {}", 
                     e.getStatusCode(), e.getMessage(), e);
         } catch (Exception e) {
             log.error("Не удалось отправить хит статистики. Исключение: {}, сообщение: {}", 
                     e.getClass().getName(), e.getMessage(), e);
+            if (hitSpool != null) {
+                hitSpool.append(List.of(endpointHitDto));
+            }
+        }
+    }
+
+    @Override
+    public void saveHits(List<EndpointHitDto> endpointHitDtos) {
+        if (endpointHitDtos == null || endpointHitDtos.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < endpointHitDtos.size(); from += maxBatchSize) {
+            List<EndpointHitDto> chunk = endpointHitDtos.subList(from,
+                    Math.min(from + maxBatchSize, endpointHitDtos.size()));
+            try {
+                postHits(chunk);
+            } catch (HttpClientErrorException e) {
+                log.error("Не удалось отправить пакет хитов статистики. Код ошибки: {}, сообщение: {}",
+                        e.getStatusCode(), e.getMessage(), e);
+            } catch (Exception e) {
+                log.error("Не удалось отправить пакет хитов статистики. Исключение: {}, сообщение: {}",
+                        e.getClass().getName(), e.getMessage(), e);
+                if (hitSpool != null) {
+                    hitSpool.append(List.copyOf(chunk));
+                }
+            }
         }
     }
 
@@ -74,6 +129,25 @@ public class StatsClientImpl implements StatsClient {
                     start, end, uris);
             return List.of();
         }
+        try {
+            return fetchStats(start, end, uris, unique);
+        } catch (HttpStatusCodeException e) {
+            log.error("Не удалось получить статистику. Код ошибки: {}, сообщение: {}", 
+                    e.getStatusCode(), e.getMessage(), e);
+            return List.of();
+        } catch (Exception e) {
+            log.error("Не удалось получить статистику. Исключение: {}, сообщение: {}", 
+                    e.getClass().getName(), e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public List<ViewStatsDto> fetchStats(String start, String end, List<String> uris, Boolean unique) {
+        if (!checkValidParams(start, end, uris)) {
+            throw new IllegalArgumentException("Некорректные параметры запроса статистики: start=" + start
+                    + ", end=" + end + ", uris=" + uris);
+        }
 
         UriComponentsBuilder uriComponentsBuilder = UriComponentsBuilder.fromPath("/stats")
                 .queryParam("start", start)
@@ -95,24 +169,67 @@ public class StatsClientImpl implements StatsClient {
 
         HttpEntity<String> requestEntity = new HttpEntity<>(defaultHeaders());
 
-        ResponseEntity<ViewStatsDto[]> statServerResponse;
-        try {
-            statServerResponse = restTemplate.exchange(makeUri(uri), HttpMethod.GET, requestEntity, ViewStatsDto[].class);
-            log.info("Статистика успешно получена");
-        } catch (HttpStatusCodeException e) {
-            log.error("Не удалось получить статистику. Код ошибки: {}, сообщение: {}", 
-                    e.getStatusCode(), e.getMessage(), e);
-            return List.of();
-        } catch (Exception e) {
-            log.error("Не удалось получить статистику. Исключение: {}, сообщение: {}", 
-                    e.getClass().getName(), e.getMessage(), e);
-            return List.of();
-        }
+        ResponseEntity<ViewStatsDto[]> statServerResponse = exchange(uri, statsUri ->
+                restTemplate.exchange(statsUri, HttpMethod.GET, requestEntity, ViewStatsDto[].class));
+        log.info("Статистика успешно получена");
 
         ViewStatsDto[] body = statServerResponse.getBody();
         return body != null ? List.of(body) : List.of();
     }
 
+    @Override
+    public void destroy() {
+        if (hitBuffer != null) {
+            hitBuffer.close();
+        }
+        if (hitSpool != null) {
+            hitSpool.close();
+        }
+    }
+
+    private void postHits(List<EndpointHitDto> endpointHitDtos) {
+        HttpEntity<List<EndpointHitDto>> requestEntity = new HttpEntity<>(endpointHitDtos, defaultHeaders());
+        ResponseEntity<HitBatchResultDto> response = exchange("/hits", uri ->
+                restTemplate.exchange(uri, HttpMethod.POST, requestEntity, HitBatchResultDto.class));
+        HitBatchResultDto result = response.getBody();
+        if (result != null && result.getRejected() != null && !result.getRejected().isEmpty()) {
+            long total = rejected.addAndGet(result.getRejected().size());
+            log.warn("Сервис статистики отклонил {} некорректных хитов из {}, индексы в пакете: {}. Всего отклонено: {}",
+                    result.getRejected().size(), endpointHitDtos.size(), result.getRejected(), total);
+        }
+        log.info("Статистика успешно отправлена: {} хитов", endpointHitDtos.size());
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("stats.client.hits", rejected, AtomicLong::get)
+                .tag("outcome", "rejected").register(registry);
+        if (hitBuffer != null) {
+            bindBufferMetrics(registry);
+        }
+        if (hitSpool != null) {
+            FunctionCounter.builder("stats.client.spool.hits", hitSpool, HitSpool::getSpooled)
+                    .tag("outcome", "spooled").register(registry);
+            FunctionCounter.builder("stats.client.spool.hits", hitSpool, HitSpool::getReplayed)
+                    .tag("outcome", "replayed").register(registry);
+            FunctionCounter.builder("stats.client.spool.hits", hitSpool, HitSpool::getDropped)
+                    .tag("outcome", "dropped").register(registry);
+            FunctionCounter.builder("stats.client.spool.hits", hitSpool, HitSpool::getQuarantined)
+                    .tag("outcome", "quarantined").register(registry);
+        }
+    }
+
+    private void bindBufferMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("stats.client.hits", hitBuffer, HitBuffer::getEnqueued)
+                .tag("outcome", "enqueued").register(registry);
+        FunctionCounter.builder("stats.client.hits", hitBuffer, HitBuffer::getSent)
+                .tag("outcome", "sent").register(registry);
+        FunctionCounter.builder("stats.client.hits", hitBuffer, HitBuffer::getDropped)
+                .tag("outcome", "dropped").register(registry);
+        FunctionCounter.builder("stats.client.hits", hitBuffer, HitBuffer::getFailed)
+                .tag("outcome", "failed").register(registry);
+        Gauge.builder("stats.client.buffer.size", hitBuffer, HitBuffer::size).register(registry);
+    }
+
     private boolean checkValidParams(String start, String end, List<String> uris) {
         if (start == null || end == null || start.isEmpty() || end.isEmpty()) {
             return false;
@@ -130,24 +247,15 @@ public class StatsClientImpl implements StatsClient {
         return headers;
     }
 
-    private URI makeUri(String path) {
-        ServiceInstance instance = retryTemplate.execute(context -> getInstance(statsServiceId));
+    private <T> T exchange(String path, Function<URI, T> call) {
+        ServiceInstance instance = retryTemplate.execute(context -> instanceSelector.select());
         log.debug("Используется инстанс stats-server: host={}, port={}", instance.getHost(), instance.getPort());
-        return URI.create("http://" + instance.getHost() + ":" + instance.getPort() + path);
-    }
-
-    private ServiceInstance getInstance(String serviceId) {
+        URI uri = URI.create("http://" + instance.getHost() + ":" + instance.getPort() + path);
         try {
-            List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
-            if (instances == null || instances.isEmpty()) {
-                throw new RuntimeException("Не найдено инстансов сервиса статистики с id: " + serviceId);
-            }
-            return instances.getFirst();
-        } catch (Exception exception) {
-            throw new RuntimeException(
-                    "Ошибка обнаружения адреса сервиса статистики с id: " + serviceId,
-                    exception
-            );
+            return instanceSelector.call(instance, () -> call.apply(uri));
+        } catch (ResourceAccessException e) {
+            instanceSelector.invalidate();
+            throw e;
         }
     }
 }
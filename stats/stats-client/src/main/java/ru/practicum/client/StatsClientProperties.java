@@ -0,0 +1,51 @@
+package ru.practicum.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "stats-client")
+public class StatsClientProperties {
+
+    private int maxBatchSize = 1000;
+    private final Async async = new Async();
+    private final Spool spool = new Spool();
+    private final Discovery discovery = new Discovery();
+
+    @Getter
+    @Setter
+    public static class Async {
+        private boolean enabled = false;
+        private int capacity = 10_000;
+        private int batchSize = 100;
+        private Duration flushInterval = Duration.ofSeconds(1);
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+        private Duration blockTimeout = Duration.ofMillis(50);
+    }
+
+    @Getter
+    @Setter
+    public static class Spool {
+        private boolean enabled = false;
+        private String directory = System.getProperty("java.io.tmpdir") + "/ewm-stats-spool";
+        private DataSize segmentSize = DataSize.ofMegabytes(8);
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+        private Duration replayInterval = Duration.ofSeconds(5);
+        private int replayBatchSize = 500;
+        private int maxReplayAttempts = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class Discovery {
+        private Duration refreshInterval = Duration.ofSeconds(30);
+        private LoadBalancingStrategy loadBalancing = LoadBalancingStrategy.ROUND_ROBIN;
+    }
+}
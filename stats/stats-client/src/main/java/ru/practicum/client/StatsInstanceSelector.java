@@ -0,0 +1,101 @@
+package ru.practicum.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+class StatsInstanceSelector {
+
+    private final DiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final StatsClientProperties.Discovery properties;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final Map<String, AtomicInteger> outstanding = new ConcurrentHashMap<>();
+
+    private volatile List<ServiceInstance> instances = List.of();
+    private volatile long refreshedAt;
+    private volatile boolean refreshed;
+
+    StatsInstanceSelector(DiscoveryClient discoveryClient, String serviceId,
+                          StatsClientProperties.Discovery properties) {
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.properties = properties;
+    }
+
+    ServiceInstance select() {
+        List<ServiceInstance> current = instances;
+        if (current.isEmpty() || isStale()) {
+            current = refresh();
+        }
+        if (current.isEmpty()) {
+            throw new RuntimeException("Не найдено инстансов сервиса статистики с id: " + serviceId);
+        }
+        return properties.getLoadBalancing() == LoadBalancingStrategy.LEAST_OUTSTANDING
+                ? leastOutstanding(current)
+                : current.get(Math.floorMod(nextIndex.getAndIncrement(), current.size()));
+    }
+
+    <T> T call(ServiceInstance instance, Supplier<T> call) {
+        AtomicInteger counter = outstanding.computeIfAbsent(key(instance), key -> new AtomicInteger());
+        counter.incrementAndGet();
+        try {
+            return call.get();
+        } finally {
+            counter.decrementAndGet();
+        }
+    }
+
+    void invalidate() {
+        refreshed = false;
+    }
+
+    private boolean isStale() {
+        return !refreshed || System.nanoTime() - refreshedAt > properties.getRefreshInterval().toNanos();
+    }
+
+    private synchronized List<ServiceInstance> refresh() {
+        if (!instances.isEmpty() && !isStale()) {
+            return instances;
+        }
+        try {
+            List<ServiceInstance> discovered = discoveryClient.getInstances(serviceId);
+            instances = discovered == null ? List.of() : List.copyOf(discovered);
+            refreshedAt = System.nanoTime();
+            refreshed = true;
+            outstanding.keySet().retainAll(instances.stream().map(this::key).collect(Collectors.toSet()));
+            log.debug("Обновлён список инстансов stats-server: {}", instances.size());
+        } catch (Exception exception) {
+            log.warn("Ошибка обнаружения адреса сервиса статистики с id {}: {}", serviceId, exception.getMessage());
+        }
+        return instances;
+    }
+
+    private ServiceInstance leastOutstanding(List<ServiceInstance> current) {
+        int start = Math.floorMod(nextIndex.getAndIncrement(), current.size());
+        ServiceInstance best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < current.size(); i++) {
+            ServiceInstance candidate = current.get((start + i) % current.size());
+            AtomicInteger counter = outstanding.get(key(candidate));
+            int load = counter == null ? 0 : counter.get();
+            if (load < bestLoad) {
+                best = candidate;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import ru.practicum.validation.IpAddress;
 
 import java.time.LocalDateTime;
 
@@ -25,7 +26,8 @@ public class EndpointHitDto {
     private String uri;
 
     @NotBlank(message = "Поле ip не может быть пустым")
-    @Size(min = 7, max = 16, message = "Поле ip должно быть от 7 до 16 символов")
+    @Size(max = 45, message = "Поле ip должно быть не длиннее 45 символов")
+    @IpAddress
     private String ip;
 
     @NotNull(message = "Поле timestamp не может быть пустым")
@@ -0,0 +1,16 @@
+package ru.practicum;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HitBatchResultDto {
+
+    private Integer accepted;
+    private List<Integer> rejected;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class IpAddressValidator implements ConstraintValidator<IpAddress, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || IpAddresses.isValid(value);
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.validation;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.regex.Pattern;
+
+public final class IpAddresses {
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9A-Fa-f:.]+");
+
+    private IpAddresses() {
+    }
+
+    public static boolean isValid(String ip) {
+        return canonical(ip) != null;
+    }
+
+    public static String canonical(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        String value = ip.strip();
+        InetAddress address = parse(value);
+        if (address == null) {
+            return null;
+        }
+        return address instanceof Inet4Address ? address.getHostAddress() : formatIpv6(address.getAddress());
+    }
+
+    private static InetAddress parse(String value) {
+        boolean ipv4 = IPV4.matcher(value).matches();
+        if (ipv4) {
+            for (String octet : value.split("\\.")) {
+                if (Integer.parseInt(octet) > 255) {
+                    return null;
+                }
+            }
+        } else if (!value.contains(":") || !IPV6.matcher(value).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(value);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static String formatIpv6(byte[] bytes) {
+        int[] words = new int[8];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = ((bytes[2 * i] & 0xff) << 8) | (bytes[2 * i + 1] & 0xff);
+        }
+        int bestStart = -1;
+        int bestLength = 0;
+        for (int i = 0; i < words.length; ) {
+            if (words[i] != 0) {
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < words.length && words[end] == 0) {
+                end++;
+            }
+            if (end - i > bestLength) {
+                bestStart = i;
+                bestLength = end - i;
+            }
+            i = end;
+        }
+        if (bestLength < 2) {
+            bestStart = -1;
+        }
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            if (i == bestStart) {
+                result.append("::");
+                i += bestLength - 1;
+                continue;
+            }
+            if (!result.isEmpty() && result.charAt(result.length() - 1) != ':') {
+                result.append(':');
+            }
+            result.append(Integer.toHexString(words[i]));
+        }
+        return result.toString();
+    }
+}
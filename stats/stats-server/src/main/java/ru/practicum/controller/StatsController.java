@@ -1,20 +1,28 @@
 package ru.practicum.controller;
 
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.EndpointHitDto;
+import ru.practicum.HitBatchResultDto;
 import ru.practicum.ViewStatsDto;
+import ru.practicum.exception.PayloadTooLargeException;
 import ru.practicum.service.StatsService;
 
 import java.util.List;
 
 @RestController
-@RequiredArgsConstructor
 public class StatsController {
 
     private final StatsService statsService;
+    private final int maxBatchSize;
+
+    public StatsController(StatsService statsService,
+                           @Value("${stats.hits.max-batch-size:1000}") int maxBatchSize) {
+        this.statsService = statsService;
+        this.maxBatchSize = maxBatchSize;
+    }
 
     @PostMapping("/hit")
     @ResponseStatus(HttpStatus.CREATED)
@@ -22,6 +30,16 @@ public class StatsController {
         statsService.save(hitDto);
     }
 
+    @PostMapping("/hits")
+    @ResponseStatus(HttpStatus.CREATED)
+    public HitBatchResultDto saveAll(@RequestBody List<EndpointHitDto> hitDtos) {
+        if (hitDtos != null && hitDtos.size() > maxBatchSize) {
+            throw new PayloadTooLargeException("Пакет содержит " + hitDtos.size()
+                    + " просмотров, допустимо не более " + maxBatchSize);
+        }
+        return statsService.saveAll(hitDtos);
+    }
+
     @GetMapping("/stats")
     @ResponseStatus(HttpStatus.OK)
     public List<ViewStatsDto> getStats(@RequestParam String start,
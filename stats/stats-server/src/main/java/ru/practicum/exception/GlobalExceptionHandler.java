@@ -7,6 +7,7 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -36,6 +37,26 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleHandlerMethodValidationException(HandlerMethodValidationException e) {
+        List<String> errors = e.getAllValidationResults()
+                .stream()
+                .flatMap(result -> result.getResolvableErrors().stream())
+                .map(error -> error.getDefaultMessage())
+                .collect(Collectors.toList());
+
+        String message = "Validation error(s): " + String.join("; ", errors);
+        log.warn(message, e);
+
+        return new ErrorResponse(
+                "BAD_REQUEST",
+                "Ошибка валидации.",
+                message,
+                LocalDateTime.now()
+        );
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleIllegalArgumentException(IllegalArgumentException e) {
@@ -49,6 +70,19 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(PayloadTooLargeException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ErrorResponse handlePayloadTooLargeException(PayloadTooLargeException e) {
+        log.warn("Слишком большой запрос: {}", e.getMessage());
+
+        return new ErrorResponse(
+                "PAYLOAD_TOO_LARGE",
+                "Размер пакета превышает допустимый.",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+    }
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleMissingServletRequestParameterException(MissingServletRequestParameterException e) {
@@ -4,15 +4,25 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.model.EndpointHit;
 import ru.practicum.EndpointHitDto;
+import ru.practicum.validation.IpAddresses;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class StatsMapper {
+
     public static EndpointHit toEntity(EndpointHitDto dto) {
         return EndpointHit.builder()
                 .app(dto.getApp())
                 .uri(dto.getUri())
-                .ip(dto.getIp())
+                .ip(toInetLiteral(dto.getIp()))
                 .timestamp(dto.getTimestamp())
                 .build();
     }
+
+    private static String toInetLiteral(String ip) {
+        String canonical = IpAddresses.canonical(ip);
+        if (canonical == null) {
+            throw new IllegalArgumentException("Некорректный IP-адрес: " + ip);
+        }
+        return canonical;
+    }
 }
@@ -2,6 +2,7 @@ package ru.practicum.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnTransformer;
 
 import java.time.LocalDateTime;
 
@@ -18,8 +19,17 @@ public class EndpointHit {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "target_id", nullable = false)
+    private Integer targetId;
+
+    @Transient
     private String app;
+
+    @Transient
     private String uri;
+
+    @ColumnTransformer(write = "CAST(? AS inet)")
+    @Column
     private String ip;
 
     @Column(name = "timestamp")
@@ -0,0 +1,25 @@
+package ru.practicum.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "endpoint_targets",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"app", "uri"}, name = "uq_endpoint_target")})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EndpointTarget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, length = 32)
+    private String app;
+
+    @Column(nullable = false, length = 128)
+    private String uri;
+}
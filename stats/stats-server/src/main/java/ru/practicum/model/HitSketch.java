@@ -0,0 +1,34 @@
+package ru.practicum.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "endpoint_hit_sketches",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"target_id", "precision", "bucket_start"},
+                name = "uq_sketch_bucket")})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HitSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "target_id", nullable = false)
+    private Integer targetId;
+
+    @Column(nullable = false)
+    private Integer precision;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private byte[] registers;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.model.EndpointTarget;
+
+public interface EndpointTargetRepository extends JpaRepository<EndpointTarget, Integer> {
+
+    @Query(value = """
+            INSERT INTO endpoint_targets (app, uri)
+            VALUES (:app, :uri)
+            ON CONFLICT (app, uri) DO UPDATE SET app = EXCLUDED.app
+            RETURNING id
+            """, nativeQuery = true)
+    Integer insertOrGetId(@Param("app") String app, @Param("uri") String uri);
+}
@@ -0,0 +1,54 @@
+package ru.practicum.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class HitPartitionRepository {
+
+    private static final String PARENT_TABLE = "endpoint_hits";
+    private static final String DEFAULT_PARTITION = "endpoint_hits_default";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = ?::regclass
+                        """,
+                String.class, PARENT_TABLE);
+    }
+
+    @Transactional
+    public boolean createPartition(String name, LocalDate from, LocalDate to) {
+        if (findPartitionNames().contains(name)) {
+            return false;
+        }
+        jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + PARENT_TABLE
+                + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE \"timestamp\" >= ? AND \"timestamp\" < ? RETURNING *) INSERT INTO " + name
+                + " SELECT * FROM moved", from.atStartOfDay(), to.atStartOfDay());
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + name
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        return moved > 0;
+    }
+
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+    }
+
+    public int deleteFromDefaultPartitionBefore(LocalDate before) {
+        return jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE \"timestamp\" < ?",
+                before.atStartOfDay());
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.ViewStatsDto;
+import ru.practicum.model.HitRollup;
+import ru.practicum.model.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HitRollupRepository extends JpaRepository<HitRollup, Long>, HitRollupRepositoryCustom {
+
+    @Query("""
+            SELECT new ru.practicum.ViewStatsDto(t.app, t.uri, SUM(r.hits))
+            FROM HitRollup r
+            JOIN EndpointTarget t ON t.id = r.targetId
+            WHERE r.granularity = :granularity
+            AND r.bucketStart >= :start AND r.bucketStart < :end
+            AND (:uris IS NULL OR t.uri IN :uris)
+            GROUP BY t.app, t.uri
+            """)
+    List<ViewStatsDto> sumHits(@Param("granularity") RollupGranularity granularity,
+                               @Param("start") LocalDateTime start,
+                               @Param("end") LocalDateTime end,
+                               @Param("uris") List<String> uris);
+}
@@ -0,0 +1,10 @@
+package ru.practicum.repository;
+
+import ru.practicum.model.HitRollup;
+
+import java.util.List;
+
+public interface HitRollupRepositoryCustom {
+
+    void incrementAll(List<HitRollup> rollups);
+}
@@ -0,0 +1,36 @@
+package ru.practicum.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.model.HitRollup;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class HitRollupRepositoryImpl implements HitRollupRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void incrementAll(List<HitRollup> rollups) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO endpoint_hit_rollups (target_id, granularity, bucket_start, hits)
+                        VALUES (?, ?, ?, ?)
+                        ON CONFLICT (target_id, granularity, bucket_start)
+                        DO UPDATE SET hits = endpoint_hit_rollups.hits + EXCLUDED.hits
+                        """,
+                rollups,
+                BATCH_SIZE,
+                (ps, rollup) -> {
+                    ps.setInt(1, rollup.getTargetId());
+                    ps.setString(2, rollup.getGranularity().name());
+                    ps.setTimestamp(3, Timestamp.valueOf(rollup.getBucketStart()));
+                    ps.setLong(4, rollup.getHits());
+                });
+    }
+}
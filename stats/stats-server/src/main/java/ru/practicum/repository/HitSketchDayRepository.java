@@ -0,0 +1,35 @@
+package ru.practicum.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class HitSketchDayRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<LocalDateTime> findCoveredDays(int precision, LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query("""
+                        SELECT day FROM endpoint_hit_sketch_days
+                        WHERE precision = ? AND day >= ? AND day < ?
+                        ORDER BY day
+                        """,
+                (rs, rowNum) -> rs.getTimestamp("day").toLocalDateTime(),
+                precision, Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    public void markCovered(int precision, LocalDateTime day) {
+        jdbcTemplate.update("""
+                        INSERT INTO endpoint_hit_sketch_days (precision, day)
+                        VALUES (?, ?)
+                        ON CONFLICT (precision, day) DO NOTHING
+                        """,
+                precision, Timestamp.valueOf(day));
+    }
+}
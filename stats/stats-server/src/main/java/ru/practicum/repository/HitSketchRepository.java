@@ -0,0 +1,44 @@
+package ru.practicum.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.model.HitSketch;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface HitSketchRepository extends JpaRepository<HitSketch, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO endpoint_hit_sketches (target_id, precision, bucket_start, registers)
+            VALUES (:targetId, :precision, :bucketStart, :registers)
+            ON CONFLICT (target_id, precision, bucket_start) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("targetId") int targetId,
+                       @Param("precision") int precision,
+                       @Param("bucketStart") LocalDateTime bucketStart,
+                       @Param("registers") byte[] registers);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<HitSketch> findByTargetIdAndPrecisionAndBucketStart(Integer targetId, Integer precision,
+                                                                  LocalDateTime bucketStart);
+
+    @Query("""
+            SELECT t.app AS app, t.uri AS uri, s.registers AS registers
+            FROM HitSketch s
+            JOIN EndpointTarget t ON t.id = s.targetId
+            WHERE s.precision = :precision
+            AND s.bucketStart >= :start AND s.bucketStart < :end
+            AND (:uris IS NULL OR t.uri IN :uris)
+            """)
+    List<SketchView> findSketches(@Param("precision") int precision,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end,
+                                  @Param("uris") List<String> uris);
+}
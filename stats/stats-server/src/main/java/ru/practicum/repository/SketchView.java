@@ -0,0 +1,10 @@
+package ru.practicum.repository;
+
+public interface SketchView {
+
+    String getApp();
+
+    String getUri();
+
+    byte[] getRegisters();
+}
@@ -9,29 +9,91 @@ import ru.practicum.ViewStatsDto;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface StatsRepository extends JpaRepository<EndpointHit, Long> {
+public interface StatsRepository extends JpaRepository<EndpointHit, Long>, StatsRepositoryCustom {
 
     @Query("""
-            SELECT new ru.practicum.ViewStatsDto(e.app, e.uri, COUNT(DISTINCT e.ip))
-            FROM EndpointHit e
-            WHERE e.timestamp BETWEEN :start AND :end
-            AND (:uris IS NULL OR e.uri IN :uris)
-            GROUP BY e.app, e.uri
-            ORDER BY COUNT(DISTINCT e.ip) DESC
+            SELECT new ru.practicum.ViewStatsDto(t.app, t.uri, h.hits)
+            FROM (
+                SELECT e.targetId AS targetId, COUNT(DISTINCT e.ip) AS hits
+                FROM EndpointHit e
+                WHERE e.timestamp BETWEEN :start AND :end
+                AND (:uris IS NULL OR e.targetId IN (SELECT d.id FROM EndpointTarget d WHERE d.uri IN :uris))
+                GROUP BY e.targetId
+            ) h
+            JOIN EndpointTarget t ON t.id = h.targetId
+            ORDER BY h.hits DESC
             """)
     List<ViewStatsDto> findUniqueStats(@Param("start")LocalDateTime start,
                                        @Param("end")LocalDateTime end,
                                        @Param("uris")List<String> uris);
 
     @Query("""
-            SELECT new ru.practicum.ViewStatsDto(e.app, e.uri, COUNT(e.ip))
-            FROM EndpointHit e
-            WHERE e.timestamp BETWEEN :start AND :end
-            AND (:uris IS NULL OR e.uri IN :uris)
-            GROUP BY e.app, e.uri
-            ORDER BY COUNT(e.ip) DESC
+            SELECT new ru.practicum.ViewStatsDto(t.app, t.uri, h.hits)
+            FROM (
+                SELECT e.targetId AS targetId, COUNT(e.id) AS hits
+                FROM EndpointHit e
+                WHERE e.timestamp BETWEEN :start AND :end
+                AND (:uris IS NULL OR e.targetId IN (SELECT d.id FROM EndpointTarget d WHERE d.uri IN :uris))
+                GROUP BY e.targetId
+            ) h
+            JOIN EndpointTarget t ON t.id = h.targetId
+            ORDER BY h.hits DESC
             """)
     List<ViewStatsDto> findAllStats(@Param("start")LocalDateTime start,
                                        @Param("end")LocalDateTime end,
                                        @Param("uris")List<String> uris);
+
+    @Query("""
+            SELECT new ru.practicum.ViewStatsDto(t.app, t.uri, h.hits)
+            FROM (
+                SELECT e.targetId AS targetId, COUNT(e.id) AS hits
+                FROM EndpointHit e
+                WHERE e.timestamp >= :start AND e.timestamp < :end
+                AND (:uris IS NULL OR e.targetId IN (SELECT d.id FROM EndpointTarget d WHERE d.uri IN :uris))
+                GROUP BY e.targetId
+            ) h
+            JOIN EndpointTarget t ON t.id = h.targetId
+            """)
+    List<ViewStatsDto> findAllStatsBefore(@Param("start")LocalDateTime start,
+                                          @Param("end")LocalDateTime end,
+                                          @Param("uris")List<String> uris);
+
+    @Query("""
+            SELECT t.app AS app, t.uri AS uri, h.ip AS ip
+            FROM (
+                SELECT DISTINCT e.targetId AS targetId, e.ip AS ip
+                FROM EndpointHit e
+                WHERE e.timestamp >= :start AND e.timestamp < :end
+                AND (:uris IS NULL OR e.targetId IN (SELECT d.id FROM EndpointTarget d WHERE d.uri IN :uris))
+            ) h
+            JOIN EndpointTarget t ON t.id = h.targetId
+            """)
+    List<UniqueHitView> findUniqueHitsBefore(@Param("start")LocalDateTime start,
+                                             @Param("end")LocalDateTime end,
+                                             @Param("uris")List<String> uris);
+
+    @Query("""
+            SELECT t.app AS app, t.uri AS uri, h.ip AS ip
+            FROM (
+                SELECT DISTINCT e.targetId AS targetId, e.ip AS ip
+                FROM EndpointHit e
+                WHERE e.timestamp BETWEEN :start AND :end
+                AND (:uris IS NULL OR e.targetId IN (SELECT d.id FROM EndpointTarget d WHERE d.uri IN :uris))
+            ) h
+            JOIN EndpointTarget t ON t.id = h.targetId
+            """)
+    List<UniqueHitView> findUniqueHits(@Param("start")LocalDateTime start,
+                                       @Param("end")LocalDateTime end,
+                                       @Param("uris")List<String> uris);
+
+    @Query("""
+            SELECT DISTINCT e.targetId AS targetId, e.ip AS ip
+            FROM EndpointHit e
+            WHERE e.timestamp >= :start AND e.timestamp < :end
+            """)
+    List<TargetHitView> findTargetHits(@Param("start")LocalDateTime start,
+                                       @Param("end")LocalDateTime end);
+
+    @Query("SELECT MIN(e.timestamp) FROM EndpointHit e")
+    LocalDateTime findFirstTimestamp();
 }
@@ -0,0 +1,10 @@
+package ru.practicum.repository;
+
+import ru.practicum.model.EndpointHit;
+
+import java.util.List;
+
+public interface StatsRepositoryCustom {
+
+    void insertAll(List<EndpointHit> hits);
+}
@@ -0,0 +1,33 @@
+package ru.practicum.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.model.EndpointHit;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class StatsRepositoryImpl implements StatsRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<EndpointHit> hits) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO endpoint_hits (target_id, ip, "timestamp")
+                        VALUES (?, CAST(? AS inet), ?)
+                        """,
+                hits,
+                BATCH_SIZE,
+                (ps, hit) -> {
+                    ps.setInt(1, hit.getTargetId());
+                    ps.setString(2, hit.getIp());
+                    ps.setTimestamp(3, Timestamp.valueOf(hit.getTimestamp()));
+                });
+    }
+}
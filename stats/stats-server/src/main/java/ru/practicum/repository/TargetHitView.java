@@ -0,0 +1,8 @@
+package ru.practicum.repository;
+
+public interface TargetHitView {
+
+    Integer getTargetId();
+
+    String getIp();
+}
@@ -0,0 +1,10 @@
+package ru.practicum.repository;
+
+public interface UniqueHitView {
+
+    String getApp();
+
+    String getUri();
+
+    String getIp();
+}
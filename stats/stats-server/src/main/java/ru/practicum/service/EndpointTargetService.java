@@ -0,0 +1,6 @@
+package ru.practicum.service;
+
+public interface EndpointTargetService {
+
+    Integer resolveId(String app, String uri);
+}
@@ -0,0 +1,52 @@
+package ru.practicum.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.repository.EndpointTargetRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EndpointTargetServiceImpl implements EndpointTargetService {
+
+    private final EndpointTargetRepository endpointTargetRepository;
+    private final Map<TargetKey, Integer> ids = new ConcurrentHashMap<>();
+
+    @Override
+    public Integer resolveId(String app, String uri) {
+        TargetKey key = new TargetKey(app, uri);
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        Integer resolved = endpointTargetRepository.insertOrGetId(app, uri);
+        if (resolved == null) {
+            throw new IllegalStateException("Не удалось сохранить эндпоинт в словарь: " + app + " " + uri);
+        }
+        log.debug("Эндпоинт {} {} добавлен в словарь с id={}", app, uri, resolved);
+        afterCommit(() -> ids.putIfAbsent(key, resolved));
+        return resolved;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record TargetKey(String app, String uri) {
+    }
+}
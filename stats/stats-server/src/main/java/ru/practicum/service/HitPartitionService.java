@@ -0,0 +1,8 @@
+package ru.practicum.service;
+
+public interface HitPartitionService {
+
+    void createUpcomingPartitions();
+
+    void dropExpiredPartitions();
+}
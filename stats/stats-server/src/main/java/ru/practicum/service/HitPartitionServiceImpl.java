@@ -0,0 +1,107 @@
+package ru.practicum.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.practicum.repository.HitPartitionRepository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Slf4j
+public class HitPartitionServiceImpl implements HitPartitionService {
+
+    private static final String PARTITION_PREFIX = "endpoint_hits_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    private final HitPartitionRepository hitPartitionRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public HitPartitionServiceImpl(HitPartitionRepository hitPartitionRepository,
+                                   @Value("${stats.partitions.months-ahead:3}") int monthsAhead,
+                                   @Value("${stats.partitions.retention-months:0}") int retentionMonths) {
+        this.hitPartitionRepository = hitPartitionRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stats.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        try {
+            createUpcomingPartitions();
+        } finally {
+            dropExpiredPartitions();
+        }
+    }
+
+    @Override
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(month);
+            try {
+                if (hitPartitionRepository.createPartition(name, month.atDay(1), month.plusMonths(1).atDay(1))) {
+                    log.warn("Просмотры за {} попали в партицию по умолчанию и перенесены в {}", month, name);
+                }
+            } catch (DataAccessException e) {
+                log.error("Не удалось создать партицию просмотров {}: {}", name, e.getMessage(), e);
+                failed.add(name);
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("Не удалось создать партиции просмотров: " + failed);
+        }
+    }
+
+    @Override
+    public void dropExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        int expiredDefault = hitPartitionRepository.deleteFromDefaultPartitionBefore(oldestKept.atDay(1));
+        if (expiredDefault > 0) {
+            log.info("Из партиции по умолчанию удалено {} устаревших просмотров", expiredDefault);
+        }
+        for (String name : hitPartitionRepository.findPartitionNames()) {
+            Optional<YearMonth> month = partitionMonth(name);
+            if (month.isEmpty() || !month.get().isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                hitPartitionRepository.dropPartition(name);
+                log.info("Удалена устаревшая партиция просмотров {}", name);
+            } catch (DataAccessException e) {
+                log.warn("Не удалось удалить партицию просмотров {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(month);
+    }
+
+    private Optional<YearMonth> partitionMonth(String name) {
+        if (!name.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.service;
+
+import ru.practicum.model.EndpointHit;
+
+import java.util.List;
+
+public interface HitRollupService {
+
+    void record(EndpointHit hit);
+
+    void recordAll(List<EndpointHit> hits);
+}
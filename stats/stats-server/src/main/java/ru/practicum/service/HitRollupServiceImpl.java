@@ -0,0 +1,107 @@
+package ru.practicum.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.model.EndpointHit;
+import ru.practicum.model.HitRollup;
+import ru.practicum.model.RollupGranularity;
+import ru.practicum.repository.HitRollupRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class HitRollupServiceImpl implements HitRollupService {
+
+    private static final Comparator<HitRollup> LOCK_ORDER = Comparator.comparing(HitRollup::getTargetId)
+            .thenComparing(HitRollup::getGranularity)
+            .thenComparing(HitRollup::getBucketStart);
+
+    private final HitRollupRepository hitRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<RollupKey, Long> pending = new ConcurrentHashMap<>();
+
+    public HitRollupServiceImpl(HitRollupRepository hitRollupRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.hitRollupRepository = hitRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void record(EndpointHit hit) {
+        recordAll(List.of(hit));
+    }
+
+    @Override
+    public void recordAll(List<EndpointHit> hits) {
+        Map<RollupKey, Long> buckets = new HashMap<>();
+        for (EndpointHit hit : hits) {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                buckets.merge(new RollupKey(hit.getTargetId(), granularity, granularity.floor(hit.getTimestamp())),
+                        1L, Long::sum);
+            }
+        }
+        afterCommit(() -> buckets.forEach((key, count) -> pending.merge(key, count, Long::sum)));
+    }
+
+    @Scheduled(fixedDelayString = "${stats.rollups.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<HitRollup> batch = new ArrayList<>();
+        for (RollupKey key : pending.keySet()) {
+            Long hits = pending.remove(key);
+            if (hits != null) {
+                batch.add(HitRollup.builder()
+                        .targetId(key.targetId())
+                        .granularity(key.granularity())
+                        .bucketStart(key.bucketStart())
+                        .hits(hits)
+                        .build());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.sort(LOCK_ORDER);
+        try {
+            transactionTemplate.executeWithoutResult(status -> hitRollupRepository.incrementAll(batch));
+            log.debug("Сохранено {} агрегатов просмотров", batch.size());
+        } catch (Exception e) {
+            batch.forEach(rollup -> pending.merge(new RollupKey(rollup.getTargetId(), rollup.getGranularity(),
+                    rollup.getBucketStart()), rollup.getHits(), Long::sum));
+            log.warn("Не удалось сохранить {} агрегатов просмотров: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record RollupKey(Integer targetId, RollupGranularity granularity, LocalDateTime bucketStart) {
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.service;
+
+import ru.practicum.ViewStatsDto;
+import ru.practicum.model.EndpointHit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HitSketchService {
+
+    boolean isEnabled();
+
+    void record(EndpointHit hit);
+
+    void recordAll(List<EndpointHit> hits);
+
+    List<ViewStatsDto> estimateUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris);
+}
@@ -0,0 +1,237 @@
+package ru.practicum.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ViewStatsDto;
+import ru.practicum.model.EndpointHit;
+import ru.practicum.model.HitSketch;
+import ru.practicum.model.RollupGranularity;
+import ru.practicum.repository.HitSketchDayRepository;
+import ru.practicum.repository.HitSketchRepository;
+import ru.practicum.repository.SketchView;
+import ru.practicum.repository.StatsRepository;
+import ru.practicum.repository.TargetHitView;
+import ru.practicum.repository.UniqueHitView;
+import ru.practicum.validation.IpAddresses;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class HitSketchServiceImpl implements HitSketchService {
+
+    private final HitSketchRepository hitSketchRepository;
+    private final HitSketchDayRepository hitSketchDayRepository;
+    private final StatsRepository statsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int precision;
+    private final int rebuildDaysPerRun;
+    private final Map<SketchKey, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    public HitSketchServiceImpl(HitSketchRepository hitSketchRepository,
+                                HitSketchDayRepository hitSketchDayRepository,
+                                StatsRepository statsRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${stats.unique.approximate:false}") boolean enabled,
+                                @Value("${stats.unique.relative-error:0.02}") double relativeError,
+                                @Value("${stats.unique.rebuild-days-per-run:7}") int rebuildDaysPerRun) {
+        this.hitSketchRepository = hitSketchRepository;
+        this.hitSketchDayRepository = hitSketchDayRepository;
+        this.statsRepository = statsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.precision = HyperLogLog.precisionForError(relativeError);
+        this.rebuildDaysPerRun = rebuildDaysPerRun;
+        if (enabled) {
+            log.info("Приблизительный подсчёт уникальных просмотров включён: погрешность={} для дней с полными скетчами, "
+                    + "точность={}", relativeError, precision);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void record(EndpointHit hit) {
+        recordAll(List.of(hit));
+    }
+
+    @Override
+    public void recordAll(List<EndpointHit> hits) {
+        if (!enabled) {
+            return;
+        }
+        Map<SketchKey, HyperLogLog> sketches = new HashMap<>();
+        for (EndpointHit hit : hits) {
+            SketchKey key = new SketchKey(hit.getTargetId(), RollupGranularity.DAY.floor(hit.getTimestamp()));
+            sketches.computeIfAbsent(key, k -> new HyperLogLog(precision)).add(hit.getIp());
+        }
+        afterCommit(() -> sketches.forEach(this::mergePending));
+    }
+
+    @Scheduled(fixedDelayString = "${stats.unique.flush-interval-ms:5000}")
+    public void flush() {
+        for (SketchKey key : pending.keySet()) {
+            HyperLogLog sketch = pending.remove(key);
+            if (sketch == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(key, sketch.toByteArray()));
+            } catch (Exception e) {
+                mergePending(key, sketch);
+                log.warn("Не удалось сохранить скетч уникальных просмотров цели {} за {}: {}",
+                        key.targetId(), key.bucketStart(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.unique.rebuild-interval-ms:600000}")
+    public void rebuildMissingDays() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime firstHit = statsRepository.findFirstTimestamp();
+        if (firstHit == null) {
+            return;
+        }
+        LocalDateTime firstDay = RollupGranularity.DAY.floor(firstHit);
+        LocalDateTime today = RollupGranularity.DAY.floor(LocalDateTime.now());
+        Set<LocalDateTime> covered = new HashSet<>(hitSketchDayRepository.findCoveredDays(precision, firstDay, today));
+        int rebuilt = 0;
+        for (LocalDateTime day = today.minusDays(1); !day.isBefore(firstDay) && rebuilt < rebuildDaysPerRun;
+             day = day.minusDays(1)) {
+            if (covered.contains(day)) {
+                continue;
+            }
+            LocalDateTime bucketStart = day;
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebuildDay(bucketStart));
+                rebuilt++;
+            } catch (Exception e) {
+                log.warn("Не удалось перестроить скетчи уникальных просмотров за {}: {}", day, e.getMessage());
+                return;
+            }
+        }
+        if (rebuilt > 0) {
+            log.info("Перестроены скетчи уникальных просмотров за {} дней", rebuilt);
+        }
+    }
+
+    @Override
+    public List<ViewStatsDto> estimateUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        LocalDateTime firstDay = RollupGranularity.DAY.ceil(start);
+        LocalDateTime lastDay = RollupGranularity.DAY.floor(end);
+        if (!firstDay.isBefore(lastDay)) {
+            return statsRepository.findUniqueStats(start, end, uris);
+        }
+
+        Map<List<String>, HyperLogLog> sketches = new LinkedHashMap<>();
+        for (SketchView sketch : hitSketchRepository.findSketches(precision, firstDay, lastDay, uris)) {
+            sketchFor(sketches, sketch.getApp(), sketch.getUri()).merge(sketch.getRegisters());
+        }
+        Set<LocalDateTime> covered = new HashSet<>(hitSketchDayRepository.findCoveredDays(precision, firstDay, lastDay));
+        LocalDateTime uncoveredFrom = null;
+        for (LocalDateTime day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            boolean gap = day.isBefore(lastDay) && !covered.contains(day);
+            if (gap && uncoveredFrom == null) {
+                uncoveredFrom = day;
+            } else if (!gap && uncoveredFrom != null) {
+                for (UniqueHitView hit : statsRepository.findUniqueHitsBefore(uncoveredFrom, day, uris)) {
+                    sketchFor(sketches, hit.getApp(), hit.getUri()).add(canonicalIp(hit.getIp()));
+                }
+                uncoveredFrom = null;
+            }
+        }
+        for (UniqueHitView hit : statsRepository.findUniqueHitsBefore(start, firstDay, uris)) {
+            sketchFor(sketches, hit.getApp(), hit.getUri()).add(canonicalIp(hit.getIp()));
+        }
+        for (UniqueHitView hit : statsRepository.findUniqueHits(lastDay, end, uris)) {
+            sketchFor(sketches, hit.getApp(), hit.getUri()).add(canonicalIp(hit.getIp()));
+        }
+
+        return sketches.entrySet().stream()
+                .map(entry -> new ViewStatsDto(entry.getKey().get(0), entry.getKey().get(1),
+                        entry.getValue().estimate()))
+                .sorted(Comparator.comparing(ViewStatsDto::getHits).reversed())
+                .toList();
+    }
+
+    private static String canonicalIp(String ip) {
+        String canonical = IpAddresses.canonical(ip);
+        return canonical != null ? canonical : ip;
+    }
+
+    private HyperLogLog sketchFor(Map<List<String>, HyperLogLog> sketches, String app, String uri) {
+        return sketches.computeIfAbsent(List.of(app, uri), key -> new HyperLogLog(precision));
+    }
+
+    private void mergePending(SketchKey key, HyperLogLog sketch) {
+        byte[] registers = sketch.toByteArray();
+        pending.merge(key, sketch, (current, added) -> {
+            current.merge(registers);
+            return current;
+        });
+    }
+
+    private void rebuildDay(LocalDateTime day) {
+        Map<Integer, HyperLogLog> sketches = new HashMap<>();
+        for (TargetHitView hit : statsRepository.findTargetHits(day, day.plusDays(1))) {
+            sketches.computeIfAbsent(hit.getTargetId(), targetId -> new HyperLogLog(precision))
+                    .add(canonicalIp(hit.getIp()));
+        }
+        sketches.forEach((targetId, sketch) -> persist(new SketchKey(targetId, day), sketch.toByteArray()));
+        hitSketchDayRepository.markCovered(precision, day);
+    }
+
+    private void persist(SketchKey key, byte[] registers) {
+        if (hitSketchRepository.insertIfAbsent(key.targetId(), precision, key.bucketStart(), registers) > 0) {
+            return;
+        }
+        HitSketch stored = hitSketchRepository.findByTargetIdAndPrecisionAndBucketStart(key.targetId(), precision,
+                        key.bucketStart())
+                .orElseThrow(() -> new IllegalStateException("Скетч не найден после вставки: " + key));
+        HyperLogLog merged = new HyperLogLog(precision, stored.getRegisters());
+        merged.merge(registers);
+        stored.setRegisters(merged.toByteArray());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record SketchKey(Integer targetId, LocalDateTime bucketStart) {
+    }
+}
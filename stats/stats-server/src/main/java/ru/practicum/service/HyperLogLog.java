@@ -0,0 +1,115 @@
+package ru.practicum.service;
+
+import java.nio.charset.StandardCharsets;
+
+final class HyperLogLog {
+
+    static final int MIN_PRECISION = 4;
+    static final int MAX_PRECISION = 16;
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog(int precision) {
+        this(precision, new byte[1 << precision]);
+    }
+
+    HyperLogLog(int precision, byte[] registers) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Точность HyperLogLog должна быть от " + MIN_PRECISION
+                    + " до " + MAX_PRECISION + ": " + precision);
+        }
+        if (registers.length != 1 << precision) {
+            throw new IllegalArgumentException("Размер регистров не соответствует точности " + precision);
+        }
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    static int precisionForError(double relativeError) {
+        if (relativeError <= 0 || relativeError >= 1) {
+            throw new IllegalArgumentException("Погрешность должна быть в интервале (0, 1): " + relativeError);
+        }
+        double registerCount = Math.pow(1.04 / relativeError, 2);
+        int precision = (int) Math.ceil(Math.log(registerCount) / Math.log(2));
+        return Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision));
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    static int registerIndex(long hash, int precision) {
+        return (int) (hash >>> (Long.SIZE - precision));
+    }
+
+    static byte registerRank(long hash, int precision) {
+        long remainder = (hash << precision) | (1L << (precision - 1));
+        return (byte) (Long.numberOfLeadingZeros(remainder) + 1);
+    }
+
+    void add(String value) {
+        if (value == null) {
+            return;
+        }
+        long hash = hash(value);
+        update(registerIndex(hash, precision), registerRank(hash, precision));
+    }
+
+    void update(int index, byte rank) {
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    byte[] toByteArray() {
+        return registers.clone();
+    }
+
+    void merge(byte[] other) {
+        if (other.length != registers.length) {
+            throw new IllegalArgumentException("Нельзя объединить скетчи разной точности");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < other[i]) {
+                registers[i] = other[i];
+            }
+        }
+    }
+
+    long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.service;
 
 import ru.practicum.EndpointHitDto;
+import ru.practicum.HitBatchResultDto;
 import ru.practicum.ViewStatsDto;
 
 import java.util.List;
@@ -9,5 +10,7 @@ public interface StatsService {
 
     void save(EndpointHitDto endpointHitDto);
 
+    HitBatchResultDto saveAll(List<EndpointHitDto> endpointHitDtos);
+
     List<ViewStatsDto> getStats(String start, String end, List<String> uris, boolean unique);
 }
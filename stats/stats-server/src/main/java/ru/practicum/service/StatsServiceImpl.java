@@ -1,18 +1,30 @@
 package ru.practicum.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.EndpointHitDto;
+import ru.practicum.HitBatchResultDto;
 import ru.practicum.ViewStatsDto;
 import ru.practicum.mapper.StatsMapper;
 import ru.practicum.model.EndpointHit;
+import ru.practicum.model.RollupGranularity;
+import ru.practicum.repository.HitRollupRepository;
 import ru.practicum.repository.StatsRepository;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +33,11 @@ public class StatsServiceImpl implements StatsService {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     private final StatsRepository statsRepository;
+    private final HitRollupRepository hitRollupRepository;
+    private final HitRollupService hitRollupService;
+    private final HitSketchService hitSketchService;
+    private final EndpointTargetService endpointTargetService;
+    private final Validator validator;
 
     @Transactional
     @Override
@@ -31,10 +48,49 @@ public class StatsServiceImpl implements StatsService {
             throw new IllegalArgumentException("Параметр EndpointHitDto не может быть null.");
         }
         EndpointHit endpointHit = StatsMapper.toEntity(endpointHitDto);
+        endpointHit.setTargetId(endpointTargetService.resolveId(endpointHit.getApp(), endpointHit.getUri()));
         statsRepository.save(endpointHit);
+        hitRollupService.record(endpointHit);
+        hitSketchService.record(endpointHit);
         log.info("Просмотр успешно сохранен");
     }
 
+    @Transactional
+    @Override
+    public HitBatchResultDto saveAll(List<EndpointHitDto> endpointHitDtos) {
+        if (endpointHitDtos == null || endpointHitDtos.isEmpty()) {
+            log.warn("Невозможно сохранить просмотры — список пуст.");
+            throw new IllegalArgumentException("Список просмотров не может быть пустым.");
+        }
+        log.debug("Попытка сохранить {} просмотров", endpointHitDtos.size());
+        List<EndpointHit> endpointHits = new ArrayList<>(endpointHitDtos.size());
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < endpointHitDtos.size(); i++) {
+            EndpointHitDto hitDto = endpointHitDtos.get(i);
+            if (isValid(hitDto)) {
+                endpointHits.add(StatsMapper.toEntity(hitDto));
+            } else {
+                rejected.add(i);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            log.warn("Отклонено {} некорректных просмотров из {}: индексы {}",
+                    rejected.size(), endpointHitDtos.size(), rejected);
+        }
+        if (endpointHits.isEmpty()) {
+            return new HitBatchResultDto(0, rejected);
+        }
+        Map<List<String>, Integer> targetIds = new HashMap<>();
+        endpointHits.forEach(hit -> hit.setTargetId(targetIds.computeIfAbsent(List.of(hit.getApp(), hit.getUri()),
+                key -> endpointTargetService.resolveId(hit.getApp(), hit.getUri()))));
+        statsRepository.insertAll(endpointHits);
+        hitRollupService.recordAll(endpointHits);
+        hitSketchService.recordAll(endpointHits);
+        log.info("Успешно сохранено {} просмотров", endpointHits.size());
+        return new HitBatchResultDto(endpointHits.size(), rejected);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public List<ViewStatsDto> getStats(String start, String end, List<String> uris, boolean unique) {
         LocalDateTime startTime = LocalDateTime.parse(start, FORMATTER);
@@ -44,8 +100,63 @@ public class StatsServiceImpl implements StatsService {
             throw new IllegalArgumentException("Начало должно быть до окончания");
         }
 
-        return unique ?
-                statsRepository.findUniqueStats(startTime, endTime, uris)
-                : statsRepository.findAllStats(startTime, endTime, uris);
+        if (!unique) {
+            return getRolledUpStats(startTime, endTime, uris);
+        }
+        return hitSketchService.isEnabled()
+                ? hitSketchService.estimateUniqueStats(startTime, endTime, uris)
+                : statsRepository.findUniqueStats(startTime, endTime, uris);
+    }
+
+    private boolean isValid(EndpointHitDto hitDto) {
+        if (hitDto == null) {
+            return false;
+        }
+        Set<ConstraintViolation<EndpointHitDto>> violations = validator.validate(hitDto);
+        if (violations.isEmpty()) {
+            return true;
+        }
+        log.debug("Некорректный просмотр {}: {}", hitDto.getUri(), violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; ")));
+        return false;
+    }
+
+    private List<ViewStatsDto> getRolledUpStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        LocalDateTime firstHour = RollupGranularity.HOUR.ceil(start);
+        LocalDateTime lastHour = RollupGranularity.HOUR.floor(end);
+        if (!firstHour.isBefore(lastHour)) {
+            return statsRepository.findAllStats(start, end, uris);
+        }
+
+        Map<List<String>, ViewStatsDto> merged = new LinkedHashMap<>();
+        merge(merged, statsRepository.findAllStatsBefore(start, firstHour, uris));
+
+        LocalDateTime firstDay = RollupGranularity.DAY.ceil(firstHour);
+        LocalDateTime lastDay = RollupGranularity.DAY.floor(lastHour);
+        if (firstDay.isBefore(lastDay)) {
+            merge(merged, hitRollupRepository.sumHits(RollupGranularity.HOUR, firstHour, firstDay, uris));
+            merge(merged, hitRollupRepository.sumHits(RollupGranularity.DAY, firstDay, lastDay, uris));
+            merge(merged, hitRollupRepository.sumHits(RollupGranularity.HOUR, lastDay, lastHour, uris));
+        } else {
+            merge(merged, hitRollupRepository.sumHits(RollupGranularity.HOUR, firstHour, lastHour, uris));
+        }
+
+        merge(merged, statsRepository.findAllStats(lastHour, end, uris));
+
+        return merged.values().stream()
+                .sorted(Comparator.comparing(ViewStatsDto::getHits).reversed())
+                .toList();
+    }
+
+    private void merge(Map<List<String>, ViewStatsDto> merged, List<ViewStatsDto> stats) {
+        for (ViewStatsDto stat : stats) {
+            merged.merge(List.of(stat.getApp(), stat.getUri()),
+                    new ViewStatsDto(stat.getApp(), stat.getUri(), stat.getHits()),
+                    (existing, added) -> {
+                        existing.setHits(existing.getHits() + added.getHits());
+                        return existing;
+                    });
+        }
     }
 }
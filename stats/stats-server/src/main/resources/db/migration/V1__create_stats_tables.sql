@@ -0,0 +1,30 @@
+CREATE TABLE IF NOT EXISTS endpoint_hits (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app VARCHAR(32) NOT NULL,
+    uri VARCHAR(128) NOT NULL,
+    ip VARCHAR(16) NOT NULL,
+    "timestamp" TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_endpoint_hits PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS endpoint_hit_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app VARCHAR(32) NOT NULL,
+    uri VARCHAR(128) NOT NULL,
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    hits BIGINT NOT NULL,
+    CONSTRAINT pk_endpoint_hit_rollups PRIMARY KEY (id),
+    CONSTRAINT uq_rollup_bucket UNIQUE (app, uri, granularity, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS endpoint_hit_sketches (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app VARCHAR(32) NOT NULL,
+    uri VARCHAR(128) NOT NULL,
+    precision INT NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    registers BYTEA NOT NULL,
+    CONSTRAINT pk_endpoint_hit_sketches PRIMARY KEY (id),
+    CONSTRAINT uq_sketch_bucket UNIQUE (app, uri, precision, bucket_start)
+);
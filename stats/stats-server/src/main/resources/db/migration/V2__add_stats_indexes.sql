@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_timestamp_uri ON endpoint_hits ("timestamp", uri);
+CREATE INDEX IF NOT EXISTS idx_endpoint_hit_rollups_granularity_bucket ON endpoint_hit_rollups (granularity, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_endpoint_hit_sketches_precision_bucket ON endpoint_hit_sketches (precision, bucket_start);
@@ -0,0 +1,36 @@
+ALTER TABLE endpoint_hits RENAME TO endpoint_hits_legacy;
+ALTER TABLE endpoint_hits_legacy RENAME CONSTRAINT pk_endpoint_hits TO pk_endpoint_hits_legacy;
+
+CREATE TABLE endpoint_hits (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app VARCHAR(32) NOT NULL,
+    uri VARCHAR(128) NOT NULL,
+    ip VARCHAR(16) NOT NULL,
+    "timestamp" TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_endpoint_hits PRIMARY KEY (id, "timestamp")
+) PARTITION BY RANGE ("timestamp");
+
+CREATE TABLE endpoint_hits_default PARTITION OF endpoint_hits DEFAULT;
+
+DO $$
+DECLARE
+    month_start TIMESTAMP;
+    last_month TIMESTAMP;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN("timestamp"), now())) INTO month_start FROM endpoint_hits_legacy;
+    last_month := date_trunc('month', now()) + INTERVAL '3 months';
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE endpoint_hits_%s PARTITION OF endpoint_hits FOR VALUES FROM (%L) TO (%L)',
+                to_char(month_start, '"y"YYYY"m"MM'), month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO endpoint_hits (id, app, uri, ip, "timestamp")
+SELECT id, app, uri, ip, "timestamp" FROM endpoint_hits_legacy;
+
+SELECT setval(pg_get_serial_sequence('endpoint_hits', 'id'), COALESCE((SELECT MAX(id) FROM endpoint_hits), 0) + 1, false);
+
+DROP TABLE endpoint_hits_legacy;
+
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_timestamp_uri ON endpoint_hits ("timestamp", uri);
@@ -0,0 +1,49 @@
+CREATE TABLE IF NOT EXISTS endpoint_targets (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app VARCHAR(32) NOT NULL,
+    uri VARCHAR(128) NOT NULL,
+    CONSTRAINT pk_endpoint_targets PRIMARY KEY (id),
+    CONSTRAINT uq_endpoint_target UNIQUE (app, uri)
+);
+
+INSERT INTO endpoint_targets (app, uri)
+SELECT DISTINCT app, uri FROM endpoint_hits
+ON CONFLICT (app, uri) DO NOTHING;
+
+ALTER TABLE endpoint_hits ADD COLUMN target_id INTEGER;
+
+UPDATE endpoint_hits h
+SET target_id = t.id
+FROM endpoint_targets t
+WHERE t.app = h.app AND t.uri = h.uri;
+
+ALTER TABLE endpoint_hits ALTER COLUMN target_id SET NOT NULL;
+
+DROP INDEX IF EXISTS idx_endpoint_hits_timestamp_uri;
+ALTER TABLE endpoint_hits DROP COLUMN app, DROP COLUMN uri;
+
+CREATE FUNCTION stats_to_inet(value VARCHAR) RETURNS inet AS $$
+BEGIN
+    RETURN value::inet;
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+DO $$
+DECLARE
+    invalid BIGINT;
+BEGIN
+    SELECT COUNT(*) INTO invalid FROM endpoint_hits WHERE stats_to_inet(ip) IS NULL;
+    IF invalid > 0 THEN
+        RAISE NOTICE 'endpoint_hits: % просмотров с некорректным ip, ip сохранён как NULL', invalid;
+    END IF;
+END $$;
+
+ALTER TABLE endpoint_hits ALTER COLUMN ip DROP NOT NULL;
+
+ALTER TABLE endpoint_hits ALTER COLUMN ip TYPE inet USING stats_to_inet(ip);
+
+DROP FUNCTION stats_to_inet(VARCHAR);
+
+CREATE INDEX IF NOT EXISTS idx_endpoint_hits_timestamp_target ON endpoint_hits ("timestamp", target_id);
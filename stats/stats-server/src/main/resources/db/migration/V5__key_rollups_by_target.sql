@@ -0,0 +1,58 @@
+INSERT INTO endpoint_targets (app, uri)
+SELECT DISTINCT app, uri FROM endpoint_hit_rollups
+ON CONFLICT (app, uri) DO NOTHING;
+
+INSERT INTO endpoint_targets (app, uri)
+SELECT DISTINCT app, uri FROM endpoint_hit_sketches
+ON CONFLICT (app, uri) DO NOTHING;
+
+ALTER TABLE endpoint_hit_rollups RENAME TO endpoint_hit_rollups_legacy;
+ALTER TABLE endpoint_hit_rollups_legacy RENAME CONSTRAINT pk_endpoint_hit_rollups TO pk_endpoint_hit_rollups_legacy;
+ALTER TABLE endpoint_hit_rollups_legacy RENAME CONSTRAINT uq_rollup_bucket TO uq_rollup_bucket_legacy;
+DROP INDEX IF EXISTS idx_endpoint_hit_rollups_granularity_bucket;
+
+CREATE TABLE endpoint_hit_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    target_id INTEGER NOT NULL,
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    hits BIGINT NOT NULL,
+    CONSTRAINT pk_endpoint_hit_rollups PRIMARY KEY (id),
+    CONSTRAINT uq_rollup_bucket UNIQUE (target_id, granularity, bucket_start)
+);
+
+INSERT INTO endpoint_hit_rollups (target_id, granularity, bucket_start, hits)
+SELECT target_id, 'HOUR', date_trunc('hour', "timestamp"), COUNT(*)
+FROM endpoint_hits
+GROUP BY target_id, date_trunc('hour', "timestamp");
+
+INSERT INTO endpoint_hit_rollups (target_id, granularity, bucket_start, hits)
+SELECT target_id, 'DAY', date_trunc('day', "timestamp"), COUNT(*)
+FROM endpoint_hits
+GROUP BY target_id, date_trunc('day', "timestamp");
+
+INSERT INTO endpoint_hit_rollups (target_id, granularity, bucket_start, hits)
+SELECT t.id, r.granularity, r.bucket_start, r.hits
+FROM endpoint_hit_rollups_legacy r
+JOIN endpoint_targets t ON t.app = r.app AND t.uri = r.uri
+WHERE r.bucket_start < COALESCE(
+        (SELECT CASE WHEN r.granularity = 'DAY' THEN date_trunc('day', MIN("timestamp"))
+                     ELSE date_trunc('hour', MIN("timestamp")) END
+         FROM endpoint_hits),
+        'infinity'::timestamp);
+
+DROP TABLE endpoint_hit_rollups_legacy;
+
+CREATE INDEX IF NOT EXISTS idx_endpoint_hit_rollups_granularity_bucket ON endpoint_hit_rollups (granularity, bucket_start);
+
+ALTER TABLE endpoint_hit_sketches ADD COLUMN target_id INTEGER;
+
+UPDATE endpoint_hit_sketches s
+SET target_id = t.id
+FROM endpoint_targets t
+WHERE t.app = s.app AND t.uri = s.uri;
+
+ALTER TABLE endpoint_hit_sketches ALTER COLUMN target_id SET NOT NULL;
+ALTER TABLE endpoint_hit_sketches DROP CONSTRAINT uq_sketch_bucket;
+ALTER TABLE endpoint_hit_sketches DROP COLUMN app, DROP COLUMN uri;
+ALTER TABLE endpoint_hit_sketches ADD CONSTRAINT uq_sketch_bucket UNIQUE (target_id, precision, bucket_start);
@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS endpoint_hit_sketch_days (
+    precision INT NOT NULL,
+    day TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_endpoint_hit_sketch_days PRIMARY KEY (precision, day)
+);
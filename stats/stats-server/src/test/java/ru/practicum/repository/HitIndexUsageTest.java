@@ -0,0 +1,83 @@
+package ru.practicum.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class HitIndexUsageTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16.1");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = POSTGRES.createConnection("");
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO endpoint_targets (app, uri)
+                    SELECT 'ewm-main-service', '/events/' || i
+                    FROM generate_series(1, 1000) AS i
+                    """);
+            statement.execute("""
+                    INSERT INTO endpoint_hits (target_id, ip, "timestamp")
+                    SELECT i % 1000 + 1, ('10.0.' || i % 250 || '.' || i % 200)::inet,
+                           date_trunc('month', now()) + i * INTERVAL '10 seconds'
+                    FROM generate_series(1, 100000) AS i
+                    """);
+            statement.execute("ANALYZE endpoint_hits");
+        }
+    }
+
+    @Test
+    void statsByTimestampAndUriUseTimestampTargetIndex() throws SQLException {
+        String plan = explain("""
+                SELECT t.app, t.uri, h.hits
+                FROM (
+                    SELECT e.target_id, COUNT(e.id) AS hits
+                    FROM endpoint_hits e
+                    WHERE e."timestamp" BETWEEN date_trunc('month', now()) + INTERVAL '1 day'
+                                            AND date_trunc('month', now()) + INTERVAL '1 day 1 hour'
+                    AND e.target_id IN (SELECT d.id FROM endpoint_targets d WHERE d.uri IN ('/events/1', '/events/2'))
+                    GROUP BY e.target_id
+                ) h
+                JOIN endpoint_targets t ON t.id = h.target_id
+                ORDER BY h.hits DESC
+                """);
+
+        assertIndexScan(plan, "endpoint_hits");
+    }
+
+    private static void assertIndexScan(String plan, String table) {
+        assertThat(plan)
+                .containsAnyOf("Index Scan", "Index Only Scan", "Bitmap Index Scan")
+                .doesNotContain("Seq Scan on " + table);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Connection connection = POSTGRES.createConnection("");
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            StringJoiner lines = new StringJoiner("\n");
+            while (plan.next()) {
+                lines.add(plan.getString(1));
+            }
+            return lines.toString();
+        }
+    }
+}